@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base of all benchmarks which need a running container.
+ *
+ * The container gets booted once per fork with discovery disabled and only the
+ * {@link #beanClasses()} of the benchmark, so the numbers don't depend on the classpath.
+ * The JMH settings are fixed here to keep the results of different commits comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class ContainerState
+{
+    protected SeContainer container;
+    protected BeanManager beanManager;
+
+    @Setup(Level.Trial)
+    public void startContainer()
+    {
+        SeContainerInitializer initializer = SeContainerInitializer.newInstance()
+                .disableDiscovery()
+                .addBeanClasses(beanClasses());
+        configure(initializer);
+        container = initializer.initialize();
+        beanManager = container.getBeanManager();
+        init();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContainer()
+    {
+        if (container != null)
+        {
+            container.close();
+            container = null;
+        }
+    }
+
+    /**
+     * @return the beans to deploy
+     */
+    protected abstract Class<?>[] beanClasses();
+
+    /**
+     * Hook to add configuration properties before the container gets started.
+     */
+    protected void configure(SeContainerInitializer initializer)
+    {
+        // no-op
+    }
+
+    /**
+     * Invoked once the container got started.
+     */
+    protected void init()
+    {
+        // no-op
+    }
+
+    protected <T> Bean<T> resolveBean(Class<T> type)
+    {
+        return (Bean<T>) beanManager.resolve(beanManager.getBeans(type));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Synchronous event delivery with no, a single and several observer methods.
+ */
+public class EventBenchmark extends ContainerState
+{
+    private Event<NoObserver> noObserver;
+    private Event<SingleObserver> singleObserver;
+    private Event<ManyObservers> manyObservers;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ Observers.class };
+    }
+
+    @Override
+    protected void init()
+    {
+        noObserver = beanManager.getEvent().select(NoObserver.class);
+        singleObserver = beanManager.getEvent().select(SingleObserver.class);
+        manyObservers = beanManager.getEvent().select(ManyObservers.class);
+    }
+
+    @Benchmark
+    public void none()
+    {
+        noObserver.fire(new NoObserver());
+    }
+
+    @Benchmark
+    public void single()
+    {
+        singleObserver.fire(new SingleObserver());
+    }
+
+    @Benchmark
+    public void many()
+    {
+        manyObservers.fire(new ManyObservers());
+    }
+
+    public static class NoObserver
+    {
+    }
+
+    public static class SingleObserver
+    {
+    }
+
+    public static class ManyObservers
+    {
+    }
+
+    @ApplicationScoped
+    public static class Observers
+    {
+        private int count;
+
+        public void single(@Observes SingleObserver event)
+        {
+            count++;
+        }
+
+        public void many1(@Observes ManyObservers event)
+        {
+            count++;
+        }
+
+        public void many2(@Observes ManyObservers event)
+        {
+            count++;
+        }
+
+        public void many3(@Observes ManyObservers event)
+        {
+            count++;
+        }
+
+        public void many4(@Observes ManyObservers event)
+        {
+            count++;
+        }
+
+        public void many5(@Observes ManyObservers event)
+        {
+            count++;
+        }
+    }
+}
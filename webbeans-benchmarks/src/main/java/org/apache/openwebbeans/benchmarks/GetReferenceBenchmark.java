@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * {@link javax.enterprise.inject.spi.BeanManager#getReference} for the common scopes.
+ */
+public class GetReferenceBenchmark extends ContainerState
+{
+    private Bean<ApplicationBean> applicationBean;
+    private Bean<RequestBean> requestBean;
+    private Bean<DependentBean> dependentBean;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ ApplicationBean.class, RequestBean.class, DependentBean.class };
+    }
+
+    @Override
+    protected void init()
+    {
+        applicationBean = resolveBean(ApplicationBean.class);
+        requestBean = resolveBean(RequestBean.class);
+        dependentBean = resolveBean(DependentBean.class);
+    }
+
+    @Benchmark
+    public Object applicationScoped()
+    {
+        return beanManager.getReference(applicationBean, ApplicationBean.class, beanManager.createCreationalContext(applicationBean));
+    }
+
+    @Benchmark
+    public Object requestScoped()
+    {
+        return beanManager.getReference(requestBean, RequestBean.class, beanManager.createCreationalContext(requestBean));
+    }
+
+    @Benchmark
+    public Object dependent()
+    {
+        return beanManager.getReference(dependentBean, DependentBean.class, beanManager.createCreationalContext(dependentBean));
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Creation of a &#064;Dependent bean with 10 injected fields and an initializer method,
+ * with the reflection based injection and with compiled injectors.
+ */
+public class InjectionBenchmark extends ContainerState
+{
+    @Param({"false", "true"})
+    public boolean compiledInjectors;
+
+    private Bean<TenFields> tenFieldsBean;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ TenFields.class, Service.class };
+    }
+
+    @Override
+    protected void configure(SeContainerInitializer initializer)
+    {
+        initializer.addProperty(OpenWebBeansConfiguration.COMPILED_INJECTORS, Boolean.toString(compiledInjectors));
+    }
+
+    @Override
+    protected void init()
+    {
+        tenFieldsBean = resolveBean(TenFields.class);
+    }
+
+    @Benchmark
+    public Object createDependent()
+    {
+        CreationalContext<TenFields> creationalContext = beanManager.createCreationalContext(tenFieldsBean);
+        Object instance = beanManager.getReference(tenFieldsBean, TenFields.class, creationalContext);
+        creationalContext.release();
+        return instance;
+    }
+
+    @Dependent
+    public static class TenFields
+    {
+        private @Inject Service s1;
+        private @Inject Service s2;
+        private @Inject Service s3;
+        private @Inject Service s4;
+        private @Inject Service s5;
+        private @Inject Service s6;
+        private @Inject Service s7;
+        private @Inject Service s8;
+        private @Inject Service s9;
+        private @Inject Service s10;
+
+        private Service initialized;
+
+        @Inject
+        void init(Service service)
+        {
+            initialized = service;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Default;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Programmatic lookup via {@link Instance}.
+ */
+public class InstanceBenchmark extends ContainerState
+{
+    private Instance<Service> instance;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ Holder.class, Service.class };
+    }
+
+    @Override
+    protected void init()
+    {
+        instance = container.select(Holder.class).get().instance;
+    }
+
+    @Benchmark
+    public Service get()
+    {
+        return instance.get();
+    }
+
+    @Benchmark
+    public Service selectAndGet()
+    {
+        return instance.select(Default.Literal.INSTANCE).get();
+    }
+
+    @ApplicationScoped
+    public static class Holder
+    {
+        @Inject
+        Instance<Service> instance;
+    }
+
+    @Dependent
+    public static class Service
+    {
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Business method invocation with two &#064;AroundInvoke interceptors compared with a not intercepted bean.
+ */
+public class InterceptorBenchmark extends ContainerState
+{
+    @Param({"false", "true"})
+    public boolean compiledChains;
+
+    private InterceptedService interceptedService;
+    private PlainService plainService;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ InterceptedService.class, PlainService.class, FirstInterceptor.class, SecondInterceptor.class };
+    }
+
+    @Override
+    protected void configure(SeContainerInitializer initializer)
+    {
+        initializer.addProperty(OpenWebBeansConfiguration.COMPILED_INTERCEPTOR_CHAINS, Boolean.toString(compiledChains));
+    }
+
+    @Override
+    protected void init()
+    {
+        interceptedService = container.select(InterceptedService.class).get();
+        plainService = container.select(PlainService.class).get();
+    }
+
+    @Benchmark
+    public int intercepted()
+    {
+        return interceptedService.add(1, 2);
+    }
+
+    @Benchmark
+    public int plain()
+    {
+        return plainService.add(1, 2);
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Measured
+    {
+    }
+
+    @Measured
+    @ApplicationScoped
+    public static class InterceptedService
+    {
+        public int add(int a, int b)
+        {
+            return a + b;
+        }
+    }
+
+    @ApplicationScoped
+    public static class PlainService
+    {
+        public int add(int a, int b)
+        {
+            return a + b;
+        }
+    }
+
+    @Measured
+    @Interceptor
+    @Priority(100)
+    public static class FirstInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext ctx) throws Exception
+        {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    @Priority(200)
+    public static class SecondInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext ctx) throws Exception
+        {
+            return ctx.proceed();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.spi.ContextsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Method invocation through normal scope proxies compared with a direct call on the contextual instance.
+ */
+public class ProxyBenchmark extends ContainerState
+{
+    @Param({"false", "true"})
+    public boolean cachedInstance;
+
+    private ApplicationCounter applicationCounter;
+    private ApplicationCounter directCounter;
+    private RequestCounter requestCounter;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ ApplicationCounter.class, RequestCounter.class };
+    }
+
+    @Override
+    protected void configure(SeContainerInitializer initializer)
+    {
+        initializer.addProperty(OpenWebBeansConfiguration.PROXY_CACHED_INSTANCE, Boolean.toString(cachedInstance));
+    }
+
+    @Override
+    protected void init()
+    {
+        ContextsService contextsService = WebBeansContext.currentInstance().getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+
+        applicationCounter = container.select(ApplicationCounter.class).get();
+        directCounter = NormalScopeProxyFactory.unwrapInstance(applicationCounter);
+        requestCounter = container.select(RequestCounter.class).get();
+    }
+
+    @Benchmark
+    public int applicationScoped()
+    {
+        return applicationCounter.increment();
+    }
+
+    @Benchmark
+    public int requestScoped()
+    {
+        return requestCounter.increment();
+    }
+
+    @Benchmark
+    public int direct()
+    {
+        return directCounter.increment();
+    }
+
+    @ApplicationScoped
+    public static class ApplicationCounter
+    {
+        private int value;
+
+        public int increment()
+        {
+            return ++value;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int value;
+
+        public int increment()
+        {
+            return ++value;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.ContextsService;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Start and end of the request context, the overhead every single request pays.
+ */
+public class RequestContextBenchmark extends ContainerState
+{
+    private ContextsService contextsService;
+    private RequestCounter requestCounter;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ RequestCounter.class };
+    }
+
+    @Override
+    protected void init()
+    {
+        contextsService = WebBeansContext.currentInstance().getContextsService();
+        requestCounter = container.select(RequestCounter.class).get();
+    }
+
+    @Benchmark
+    public void emptyRequest()
+    {
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.endContext(RequestScoped.class, null);
+    }
+
+    @Benchmark
+    public int requestWithBean()
+    {
+        contextsService.startContext(RequestScoped.class, null);
+        try
+        {
+            return requestCounter.increment();
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, null);
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int value;
+
+        public int increment()
+        {
+            return ++value;
+        }
+    }
+}
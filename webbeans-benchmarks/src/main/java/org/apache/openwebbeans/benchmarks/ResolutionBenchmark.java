@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.annotation.DefaultLiteral;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.InjectionResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * {@link InjectionResolver#implResolveByType(boolean, java.lang.reflect.Type, java.lang.annotation.Annotation...)}
+ * with an empty (cold) and a filled (warm) resolution cache.
+ */
+public class ResolutionBenchmark extends ContainerState
+{
+    private InjectionResolver injectionResolver;
+
+    @Override
+    protected Class<?>[] beanClasses()
+    {
+        return new Class<?>[]{ Service.class, ServiceImpl.class, OtherService.class };
+    }
+
+    @Override
+    protected void init()
+    {
+        injectionResolver = WebBeansContext.currentInstance().getBeanManagerImpl().getInjectionResolver();
+    }
+
+    @Benchmark
+    public Set<Bean<?>> cold()
+    {
+        injectionResolver.clearCaches();
+        return injectionResolver.implResolveByType(false, Service.class, DefaultLiteral.INSTANCE);
+    }
+
+    @Benchmark
+    public Set<Bean<?>> warm()
+    {
+        return injectionResolver.implResolveByType(false, Service.class, DefaultLiteral.INSTANCE);
+    }
+
+    public interface Service
+    {
+    }
+
+    public static class ServiceImpl implements Service
+    {
+    }
+
+    public static class OtherService
+    {
+    }
+}
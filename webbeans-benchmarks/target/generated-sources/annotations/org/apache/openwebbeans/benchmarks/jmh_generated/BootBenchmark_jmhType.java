@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class BootBenchmark_jmhType extends BootBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class EventBenchmark_jmhType extends EventBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class GetReferenceBenchmark_jmhType extends GetReferenceBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class InjectionBenchmark_jmhType extends InjectionBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class InstanceBenchmark_jmhType extends InstanceBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class InterceptorBenchmark_jmhType extends InterceptorBenchmark_jmhType_B3 {
+}
+
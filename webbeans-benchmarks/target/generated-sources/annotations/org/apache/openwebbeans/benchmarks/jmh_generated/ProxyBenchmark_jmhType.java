@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class ProxyBenchmark_jmhType extends ProxyBenchmark_jmhType_B3 {
+}
+
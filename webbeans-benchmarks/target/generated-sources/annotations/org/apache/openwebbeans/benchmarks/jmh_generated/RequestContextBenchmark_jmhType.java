@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class RequestContextBenchmark_jmhType extends RequestContextBenchmark_jmhType_B3 {
+}
+
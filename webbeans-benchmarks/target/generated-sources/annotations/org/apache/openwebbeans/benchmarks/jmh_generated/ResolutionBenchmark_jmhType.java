@@ -0,0 +1,4 @@
+package org.apache.openwebbeans.benchmarks.jmh_generated;
+public class ResolutionBenchmark_jmhType extends ResolutionBenchmark_jmhType_B3 {
+}
+
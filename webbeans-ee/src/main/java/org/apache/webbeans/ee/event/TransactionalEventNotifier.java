@@ -32,12 +32,22 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.event.EventContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.TransactionService;
+import org.apache.webbeans.util.ExceptionUtil;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 @SuppressWarnings("unchecked")
 public final class TransactionalEventNotifier
 {
+    /**
+     * The pending notifications of the currently running transactions.
+     */
+    private static final Map<Transaction, TransactionalEventBatch> BATCHES = new ConcurrentHashMap<>();
+
     private TransactionalEventNotifier()
     {
         // utility class ct
@@ -112,15 +122,119 @@ public final class TransactionalEventNotifier
     private static void registerEvent(Transaction transaction, AbstractSynchronization synchronization, boolean immediateOnError)
         throws SystemException
     {
+        TransactionalEventBatch batch = BATCHES.get(transaction);
+        if (batch == null)
+        {
+            // only locks the entry of this transaction
+            batch = BATCHES.computeIfAbsent(transaction, TransactionalEventNotifier::startBatch);
+        }
+
+        // the batch is null or completed if the tx doesn't accept Synchronizations anymore
+        if ((batch == null || !batch.add(synchronization)) && immediateOnError)
+        {
+            synchronization.notifyObserver();
+        }
+    }
+
+    /**
+     * @return the registered batch or {@code null} if the transaction doesn't accept Synchronizations anymore
+     */
+    private static TransactionalEventBatch startBatch(Transaction transaction)
+    {
+        TransactionalEventBatch batch = new TransactionalEventBatch(transaction);
         try
         {
-            transaction.registerSynchronization(synchronization);
+            transaction.registerSynchronization(batch);
+            return batch;
         }
         catch (RollbackException | IllegalStateException re)
         {
-            if (immediateOnError)
+            return null;
+        }
+        catch (SystemException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e);
+        }
+    }
+
+    /**
+     * The one Synchronization per Transaction which notifies all transactional observers of it.
+     *
+     * The notifications get collected per phase in the order the events got fired.
+     * Events fired by BEFORE_COMPLETION observers still get added. Once all BEFORE_COMPLETION
+     * notifications got delivered further BEFORE_COMPLETION events, and once the afterCompletion
+     * started all further events, behave like a failed registration of a Synchronization.
+     */
+    private static final class TransactionalEventBatch implements Synchronization
+    {
+        private final Transaction transaction;
+
+        private final List<AbstractSynchronization> beforeCompletion = new ArrayList<>();
+        private final List<AbstractSynchronization> afterCompletion = new ArrayList<>();
+
+        private boolean beforeCompletionDone;
+
+        private boolean completed;
+
+        private TransactionalEventBatch(Transaction transaction)
+        {
+            this.transaction = transaction;
+        }
+
+        private synchronized boolean add(AbstractSynchronization synchronization)
+        {
+            if (completed)
+            {
+                return false;
+            }
+            if (synchronization instanceof BeforeCompletion)
+            {
+                if (beforeCompletionDone)
+                {
+                    return false;
+                }
+                beforeCompletion.add(synchronization);
+            }
+            else
+            {
+                afterCompletion.add(synchronization);
+            }
+            return true;
+        }
+
+        @Override
+        public void beforeCompletion()
+        {
+            for (int i = 0; ; i++)
+            {
+                AbstractSynchronization synchronization;
+                synchronized (this)
+                {
+                    if (i >= beforeCompletion.size())
+                    {
+                        beforeCompletionDone = true;
+                        break;
+                    }
+                    synchronization = beforeCompletion.get(i);
+                }
+                synchronization.beforeCompletion();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status)
+        {
+            List<AbstractSynchronization> synchronizations;
+            synchronized (this)
+            {
+                completed = true;
+                synchronizations = afterCompletion;
+            }
+            BATCHES.remove(transaction, this);
+
+            for (AbstractSynchronization synchronization : synchronizations)
             {
-                synchronization.notifyObserver();
+                synchronization.afterCompletion(status);
             }
         }
     }
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.EventContext;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+import javax.transaction.xa.XAResource;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.config.WebBeansFinder;
+import org.apache.webbeans.spi.TransactionService;
+import org.apache.webbeans.util.WebBeansUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransactionalEventNotifierTest
+{
+    private final LocalTransactionService transactionService = new LocalTransactionService();
+
+    private final List<String> notifications = new ArrayList<>();
+
+    @Before
+    public void registerTransactionService()
+    {
+        WebBeansContext.getInstance().registerService(TransactionService.class, transactionService);
+    }
+
+    @After
+    public void cleanUp()
+    {
+        WebBeansFinder.clearInstances(WebBeansUtil.getCurrentClassLoader());
+    }
+
+    @Test
+    public void oneSynchronizationPerTransaction() throws Exception
+    {
+        LocalTransaction tx = transactionService.begin();
+        for (int i = 0; i < 100; i++)
+        {
+            fire(TransactionPhase.AFTER_SUCCESS, "success" + i);
+        }
+        fire(TransactionPhase.BEFORE_COMPLETION, "before");
+        fire(TransactionPhase.AFTER_FAILURE, "failure");
+        fire(TransactionPhase.AFTER_COMPLETION, "completion");
+
+        assertEquals(1, tx.synchronizations.size());
+        assertTrue(notifications.isEmpty());
+
+        tx.complete(Status.STATUS_COMMITTED);
+        assertEquals(102, notifications.size());
+        assertEquals("before", notifications.get(0));
+        assertEquals("success0", notifications.get(1));
+        assertEquals("success99", notifications.get(100));
+        assertEquals("completion", notifications.get(101));
+    }
+
+    @Test
+    public void rollback() throws Exception
+    {
+        LocalTransaction tx = transactionService.begin();
+        fire(TransactionPhase.AFTER_SUCCESS, "success");
+        fire(TransactionPhase.AFTER_FAILURE, "failure");
+        fire(TransactionPhase.AFTER_COMPLETION, "completion");
+
+        tx.complete(Status.STATUS_ROLLEDBACK);
+        assertEquals(asList("failure", "completion"), notifications);
+
+        // the next transaction gets its own synchronization
+        LocalTransaction next = transactionService.begin();
+        fire(TransactionPhase.AFTER_SUCCESS, "next");
+        assertEquals(1, next.synchronizations.size());
+        next.complete(Status.STATUS_COMMITTED);
+        assertEquals(asList("failure", "completion", "next"), notifications);
+    }
+
+    @Test
+    public void eventsFiredDuringCompletion() throws Exception
+    {
+        LocalTransaction tx = transactionService.begin();
+        ObserverMethod<Object> observer = new TestObserver(TransactionPhase.BEFORE_COMPLETION)
+        {
+            @Override
+            public void notify(EventContext<Object> eventContext)
+            {
+                super.notify(eventContext);
+                fireUnchecked(TransactionPhase.AFTER_SUCCESS, "fromBefore");
+            }
+        };
+        TransactionalEventNotifier.registerTransactionSynchronization(TransactionPhase.BEFORE_COMPLETION, observer, "before", null);
+
+        ObserverMethod<Object> afterObserver = new TestObserver(TransactionPhase.AFTER_COMPLETION)
+        {
+            @Override
+            public void notify(EventContext<Object> eventContext)
+            {
+                super.notify(eventContext);
+                fireUnchecked(TransactionPhase.AFTER_COMPLETION, "fromAfter");
+            }
+        };
+        TransactionalEventNotifier.registerTransactionSynchronization(TransactionPhase.AFTER_COMPLETION, afterObserver, "after", null);
+
+        tx.complete(Status.STATUS_COMMITTED);
+        // events fired after the completion started get delivered immediately
+        assertEquals(asList("before", "after", "fromAfter", "fromBefore"), notifications);
+    }
+
+    @Test
+    public void beforeCompletionFiredByLaterSynchronization() throws Exception
+    {
+        LocalTransaction tx = transactionService.begin();
+        fire(TransactionPhase.BEFORE_COMPLETION, "before");
+        tx.registerSynchronization(new Synchronization()
+        {
+            @Override
+            public void beforeCompletion()
+            {
+                // our batch already delivered its BEFORE_COMPLETION notifications
+                fireUnchecked(TransactionPhase.BEFORE_COMPLETION, "late");
+            }
+
+            @Override
+            public void afterCompletion(int status)
+            {
+                // nothing to do
+            }
+        });
+
+        tx.complete(Status.STATUS_COMMITTED);
+        assertEquals(asList("before", "late"), notifications);
+    }
+
+    @Test
+    public void rollbackOnly() throws Exception
+    {
+        LocalTransaction tx = transactionService.begin();
+        tx.rollbackOnly = true;
+        fire(TransactionPhase.AFTER_SUCCESS, "success");
+        fire(TransactionPhase.AFTER_COMPLETION, "completion");
+
+        assertEquals(Collections.singletonList("completion"), notifications);
+    }
+
+    private void fire(TransactionPhase phase, String event) throws Exception
+    {
+        TransactionalEventNotifier.registerTransactionSynchronization(phase, new TestObserver(phase), event, null);
+    }
+
+    private void fireUnchecked(TransactionPhase phase, String event)
+    {
+        try
+        {
+            fire(phase, event);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class TestObserver implements ObserverMethod<Object>
+    {
+        private final TransactionPhase phase;
+
+        private TestObserver(TransactionPhase phase)
+        {
+            this.phase = phase;
+        }
+
+        @Override
+        public void notify(EventContext<Object> eventContext)
+        {
+            notifications.add(String.valueOf(eventContext.getEvent()));
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return TransactionalEventNotifierTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return String.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return phase;
+        }
+    }
+
+    private static final class LocalTransactionService implements TransactionService
+    {
+        private LocalTransaction transaction;
+
+        private LocalTransaction begin()
+        {
+            transaction = new LocalTransaction();
+            return transaction;
+        }
+
+        @Override
+        public TransactionManager getTransactionManager()
+        {
+            return null;
+        }
+
+        @Override
+        public Transaction getTransaction()
+        {
+            return transaction;
+        }
+
+        @Override
+        public UserTransaction getUserTransaction()
+        {
+            return null;
+        }
+
+        @Override
+        public void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event)
+            throws Exception
+        {
+            TransactionalEventNotifier.registerTransactionSynchronization(phase, observer, event, null);
+        }
+    }
+
+    private static final class LocalTransaction implements Transaction
+    {
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+
+        private int status = Status.STATUS_ACTIVE;
+
+        private boolean rollbackOnly;
+
+        private void complete(int result)
+        {
+            status = Status.STATUS_PREPARING;
+            for (int i = 0; i < synchronizations.size(); i++)
+            {
+                synchronizations.get(i).beforeCompletion();
+            }
+            status = result;
+            for (Synchronization synchronization : new ArrayList<>(synchronizations))
+            {
+                synchronization.afterCompletion(result);
+            }
+        }
+
+        @Override
+        public void registerSynchronization(Synchronization synchronization) throws RollbackException
+        {
+            if (rollbackOnly)
+            {
+                throw new RollbackException();
+            }
+            if (status != Status.STATUS_ACTIVE && status != Status.STATUS_PREPARING)
+            {
+                throw new IllegalStateException("transaction completed");
+            }
+            synchronizations.add(synchronization);
+        }
+
+        @Override
+        public int getStatus()
+        {
+            return status;
+        }
+
+        @Override
+        public void commit()
+        {
+            complete(Status.STATUS_COMMITTED);
+        }
+
+        @Override
+        public void rollback()
+        {
+            complete(Status.STATUS_ROLLEDBACK);
+        }
+
+        @Override
+        public void setRollbackOnly()
+        {
+            rollbackOnly = true;
+        }
+
+        @Override
+        public boolean delistResource(XAResource xaResource, int flag)
+        {
+            return false;
+        }
+
+        @Override
+        public boolean enlistResource(XAResource xaResource)
+        {
+            return false;
+        }
+    }
+}
@@ -32,7 +32,6 @@ import javax.enterprise.inject.spi.Bean;
 import java.beans.FeatureDescriptor;
 import java.lang.reflect.Type;
 import java.util.Iterator;
-import java.util.Set;
 
 /**
  * JSF or JSP expression language a.k.a EL resolver.
@@ -105,6 +104,13 @@ public class WebBeansELResolver extends ELResolver
         //Name of the bean
         String beanName = (String) property;
 
+        // single table lookup, rejects all names which are no CDI beans
+        Bean<?> bean = beanManager.getInjectionResolver().resolveByName(beanName);
+        if (bean == null)
+        {
+            return null;
+        }
+
         //Local store, create if not exist
         ELContextStore elContextStore = ELContextStore.getInstance(true);
 
@@ -117,24 +123,14 @@ public class WebBeansELResolver extends ELResolver
             return contextualInstance;
         }
 
-        //Get beans
-        Set<Bean<?>> beans = beanManager.getBeans(beanName);
-
-        //Found?
-        if(beans != null && !beans.isEmpty())
+        if(bean.getScope().equals(Dependent.class))
         {
-            //Managed bean
-            Bean<?> bean = beanManager.resolve(beans);
-
-            if(bean.getScope().equals(Dependent.class))
-            {
-                contextualInstance = getDependentContextualInstance(beanManager, elContextStore, context, bean);
-            }
-            else
-            {
-                // now we check for NormalScoped beans
-                contextualInstance = getNormalScopedContextualInstance(beanManager, elContextStore, context, bean, beanName);
-            }
+            contextualInstance = getDependentContextualInstance(beanManager, elContextStore, context, bean);
+        }
+        else
+        {
+            // now we check for NormalScoped beans
+            contextualInstance = getNormalScopedContextualInstance(beanManager, elContextStore, context, bean, beanName);
         }
         return contextualInstance;
     }
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el.test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.el.ELContext;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+public class ELNameResolutionTest extends AbstractUnitTest
+{
+    @Test
+    public void testNameResolution()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        startContainer(classes);
+
+        getWebBeansContext().getContextsService().startContext(RequestScoped.class, null);
+        getWebBeansContext().getContextsService().startContext(SessionScoped.class, null);
+        try
+        {
+            WebBeansELResolver resolver = new WebBeansELResolver();
+
+            ELContext unknown = new MockELContext();
+            Assert.assertNull(resolver.getValue(unknown, null, "facesContext"));
+            Assert.assertFalse(unknown.isPropertyResolved());
+
+            ELContext known = new MockELContext();
+            SampleBean sampleBean = (SampleBean) resolver.getValue(known, null, "sampleBean");
+            Assert.assertNotNull(sampleBean);
+            Assert.assertEquals(121, sampleBean.getX());
+            Assert.assertTrue(known.isPropertyResolved());
+        }
+        finally
+        {
+            getWebBeansContext().getContextsService().endContext(SessionScoped.class, null);
+            getWebBeansContext().getContextsService().endContext(RequestScoped.class, null);
+            shutDownContainer();
+        }
+    }
+}
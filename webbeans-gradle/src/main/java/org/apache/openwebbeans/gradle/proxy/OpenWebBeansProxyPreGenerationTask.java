@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.gradle.proxy;
+
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.OutputDirectory;
+
+import java.io.File;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Runs org.apache.webbeans.proxy.ProxyPreGenerator on the task classpath
+ * (typically the runtime classpath + the compiled classes) and dumps the proxies in the output directory.
+ *
+ * Usage:
+ * <pre>
+ * task owbProxies(type: org.apache.openwebbeans.gradle.proxy.OpenWebBeansProxyPreGenerationTask) {
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     outputDirectory = sourceSets.main.java.outputDir
+ * }
+ * </pre>
+ *
+ * Then enable {@code org.apache.webbeans.proxy.preGenerated=true} in the application openwebbeans.properties.
+ */
+// note: it is very important to not bring webbeans-impl in the classpath there cause of gradle dep mecanism
+public class OpenWebBeansProxyPreGenerationTask extends JavaExec
+{
+    private File outputDirectory;
+
+    public OpenWebBeansProxyPreGenerationTask()
+    {
+        setMain("org.apache.webbeans.proxy.ProxyPreGenerator");
+    }
+
+    @OutputDirectory
+    public File getOutputDirectory()
+    {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(final File outputDirectory)
+    {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void exec()
+    {
+        if (outputDirectory == null)
+        {
+            throw new IllegalStateException("No outputDirectory set");
+        }
+        setArgs(singletonList(outputDirectory.getAbsolutePath()));
+        super.exec();
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.CreationalContext;
@@ -76,6 +77,13 @@ public abstract class AbstractOwbBean<T>
      * @see #getId()
      */
     protected String passivatingId;
+
+    /**
+     * Dense index of this bean within the beans of its scope, assigned at the end of the deployment.
+     * Contexts use it as array slot for the contextual instances.
+     * @see #getContextSlot()
+     */
+    private int contextSlot = -1;
     
     protected final WebBeansContext webBeansContext;
 
@@ -90,6 +98,21 @@ public abstract class AbstractOwbBean<T>
         this.webBeansContext = webBeansContext;
     }
 
+    /**
+     * @return the index of this bean within the beans of the same scope
+     *         or {@code -1} if the bean got added after the deployment
+     * @see org.apache.webbeans.context.ContextualInstanceTable
+     */
+    public int getContextSlot()
+    {
+        return contextSlot;
+    }
+
+    public void setContextSlot(int contextSlot)
+    {
+        this.contextSlot = contextSlot;
+    }
+
     /**
      * Get the web beans context this bean is associated with
      *
@@ -112,6 +135,24 @@ public abstract class AbstractOwbBean<T>
      */
     @Override
     public T create(CreationalContext<T> creationalContext)
+    {
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            long start = System.nanoTime();
+            try
+            {
+                return doCreate(creationalContext);
+            }
+            finally
+            {
+                metrics.beanInstanceCreated(this, System.nanoTime() - start);
+            }
+        }
+        return doCreate(creationalContext);
+    }
+
+    private T doCreate(CreationalContext<T> creationalContext)
     {
         try
         {
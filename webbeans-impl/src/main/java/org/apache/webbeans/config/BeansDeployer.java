@@ -20,6 +20,7 @@ package org.apache.webbeans.config;
 
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.BeanAttributesImpl;
 import org.apache.webbeans.component.BuiltInOwbBean;
@@ -95,6 +96,7 @@ import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
 
 import javax.enterprise.inject.AmbiguousResolutionException;
 import javax.enterprise.inject.Model;
+import javax.enterprise.inject.New;
 import javax.enterprise.inject.UnproxyableResolutionException;
 import javax.enterprise.inject.UnsatisfiedResolutionException;
 import javax.enterprise.inject.spi.AnnotatedField;
@@ -127,9 +129,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
@@ -147,6 +154,11 @@ public class BeansDeployer
     private static final Logger logger = WebBeansLoggerFacade.getLogger(BeansDeployer.class);
     public static final String JAVAX_ENTERPRISE_PACKAGE = "javax.enterprise.";
 
+    /**
+     * Marker for AnnotatedTypes which are no bean in the precomputed BeanAttributes.
+     */
+    private static final Object NOT_A_BEAN = new Object();
+
 
     /**Deployment is started or not*/
     protected boolean deployed;
@@ -168,6 +180,23 @@ public class BeansDeployer
     protected boolean skipNoClassDefFoundTriggers;
     protected boolean skipValidations;
 
+    /**
+     * Number of threads used for the parallel bootstrap, 0 if disabled.
+     * @see OpenWebBeansConfiguration#PARALLEL_BOOTSTRAP
+     */
+    protected int parallelism;
+
+    /**
+     * Only set during {@link #deploy(ScannerService)} if the parallel bootstrap is enabled.
+     */
+    private ForkJoinPool parallelPool;
+
+    /**
+     * {@code null} if the boot report is disabled.
+     * @see OpenWebBeansConfiguration#BOOT_REPORT
+     */
+    private final BootReport bootReport;
+
     /**
      * This BdaInfo is used for all manually added annotated types or in case
      * a non-Bda-aware ScannerService got configured.
@@ -194,6 +223,9 @@ public class BeansDeployer
         skipValidations = Boolean.parseBoolean(this.webBeansContext.getOpenWebBeansConfiguration().getProperty(
                 "org.apache.webbeans.spi.deployer.skipValidations"));
         skipNoClassDefFoundTriggers = this.webBeansContext.getOpenWebBeansConfiguration().isSkipNoClassDefFoundErrorTriggers();
+        parallelism = this.webBeansContext.getOpenWebBeansConfiguration().getParallelBootstrapThreads();
+        String bootReportTarget = this.webBeansContext.getOpenWebBeansConfiguration().getBootReport();
+        bootReport = bootReportTarget != null ? new BootReport(bootReportTarget) : null;
 
         defaultBeanArchiveInformation = new DefaultBeanArchiveInformation("default");
         defaultBeanArchiveInformation.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
@@ -213,7 +245,17 @@ public class BeansDeployer
         try
         {
             if (!deployed)
-            {                
+            {
+                if (parallelism > 1)
+                {
+                    parallelPool = new ForkJoinPool(parallelism);
+                }
+                if (bootReport != null)
+                {
+                    bootReport.startPhase();
+                    webBeansContext.getNotificationManager().setBootReport(bootReport);
+                }
+
                 //Load Extensions
                 webBeansContext.getExtensionLoader().loadExtensionServices();
 
@@ -246,6 +288,8 @@ public class BeansDeployer
                 //Configure Default Beans
                 configureDefaultBeans();
 
+                endPhase("boot");
+
                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
@@ -264,11 +308,11 @@ public class BeansDeployer
                 deployFromXML(scanner);
 
                 addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
-
+                endPhase("annotatedTypes");
 
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
                     = getBeanAttributes(annotatedTypesPerBda);
-
+                endPhase("beanAttributes");
                 // shouldn't be used anymore, view is now beanAttributes
                 annotatedTypesPerBda.clear();
 
@@ -313,8 +357,11 @@ public class BeansDeployer
                 // We are finally done with our bean discovery
                 fireAfterBeanDiscoveryEvent();
 
+                assignContextSlots();
+
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
+                endPhase("beans");
 
                 // drop no more needed memory data
                 webBeansContext.getNotificationManager().afterStart();
@@ -385,9 +432,18 @@ public class BeansDeployer
                             .getExecutor().execute(() -> {});
                 }
 
+                webBeansContext.getBeanManagerImpl().prepareReferenceStrategies();
+
+                endPhase("validation");
+
                 // fire event
                 fireAfterDeploymentValidationEvent();
-
+                endPhase("afterDeploymentValidation");
+                if (bootReport != null)
+                {
+                    webBeansContext.getNotificationManager().setBootReport(null);
+                    bootReport.publish();
+                }
 
                 // do some cleanup after the deployment
                 scanner.release();
@@ -414,6 +470,86 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+
+            if (bootReport != null)
+            {
+                webBeansContext.getNotificationManager().setBootReport(null);
+            }
+
+            if (parallelPool != null)
+            {
+                parallelPool.shutdown();
+                parallelPool = null;
+            }
+        }
+    }
+
+    /**
+     * @return the boot report or {@code null} if it is disabled
+     * @see OpenWebBeansConfiguration#BOOT_REPORT
+     */
+    public BootReport getBootReport()
+    {
+        return bootReport;
+    }
+
+    private void endPhase(String phase)
+    {
+        if (bootReport != null)
+        {
+            bootReport.endPhase(phase);
+        }
+    }
+
+    /**
+     * Executes the given action for all items in the parallel bootstrap pool.
+     * Once all items got processed the failure of the first failing item
+     * (in the iteration order of the given collection) gets rethrown,
+     * this keeps the reported deployment problem deterministic.
+     */
+    private <T> void forEachParallel(Collection<T> items, Consumer<T> action)
+    {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        List<T> orderedItems = new ArrayList<>(items);
+        Throwable[] failures = new Throwable[orderedItems.size()];
+        try
+        {
+            parallelPool.submit(() -> IntStream.range(0, failures.length).parallel().forEach(i ->
+            {
+                // WebBeansContext.getInstance() relies on the TCCL
+                Thread thread = Thread.currentThread();
+                ClassLoader old = thread.getContextClassLoader();
+                thread.setContextClassLoader(loader);
+                try
+                {
+                    action.accept(orderedItems.get(i));
+                }
+                catch (RuntimeException | Error e)
+                {
+                    failures[i] = e;
+                }
+                finally
+                {
+                    thread.setContextClassLoader(old);
+                }
+            })).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansDeploymentException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
+        }
+
+        for (Throwable failure : failures)
+        {
+            if (failure != null)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(failure);
+            }
         }
     }
 
@@ -468,6 +604,8 @@ public class BeansDeployer
         Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
             = new HashMap<>();
 
+        Map<AnnotatedType<?>, Object> precomputedBeanAttributes = precomputeBeanAttributes(annotatedTypesPerBda);
+
         for (Map.Entry<BeanArchiveInformation, List<AnnotatedType<?>>> atEntry : annotatedTypesPerBda.entrySet())
         {
             BeanArchiveInformation bdaInfo = atEntry.getKey();
@@ -484,9 +622,21 @@ public class BeansDeployer
                 boolean isEjb = discoverEjb && EJBWebBeansConfigurator.isSessionBean(beanClass, webBeansContext);
                 try
                 {
-                    if (isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+                    Object precomputed = precomputedBeanAttributes.get(at);
+                    if (precomputed instanceof RuntimeException)
                     {
-                        BeanAttributesImpl beanAttributes = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
+                        throw (RuntimeException) precomputed;
+                    }
+                    if (precomputed instanceof Error)
+                    {
+                        throw (Error) precomputed;
+                    }
+
+                    if (precomputed != null ? precomputed != NOT_A_BEAN :
+                            isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+                    {
+                        BeanAttributesImpl beanAttributes = precomputed != null ? (BeanAttributesImpl) precomputed :
+                                BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
                         if (beanAttributes != null &&
                                 (!beanAttributes.isAlternative() || isEnabledAlternative(at, beanAttributes.getStereotypes())))
                         {
@@ -533,6 +683,80 @@ public class BeansDeployer
         return beanAttributesPerBda;
     }
 
+    /**
+     * In the parallel bootstrap mode the BeanAttributes of all AnnotatedTypes get built upfront.
+     * Events like ProcessBeanAttributes are still fired sequentially afterwards.
+     *
+     * @return the BeanAttributesImpl, {@link #NOT_A_BEAN} or the thrown exception per AnnotatedType
+     */
+    private Map<AnnotatedType<?>, Object> precomputeBeanAttributes(Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda)
+    {
+        if (parallelPool == null || discoverEjb)
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<AnnotatedType<?>, Boolean> onlyScopedBeansPerType = new IdentityHashMap<>();
+        Set<AnnotatedType<?>> ambiguous = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<BeanArchiveInformation, List<AnnotatedType<?>>> atEntry : annotatedTypesPerBda.entrySet())
+        {
+            Boolean onlyScopedBeans = BeanDiscoveryMode.TRIM == atEntry.getKey().getBeanDiscoveryMode();
+            for (AnnotatedType<?> at : atEntry.getValue())
+            {
+                Boolean previous = onlyScopedBeansPerType.put(at, onlyScopedBeans);
+                if (previous != null && !previous.equals(onlyScopedBeans))
+                {
+                    ambiguous.add(at);
+                }
+            }
+        }
+        // types deployed in archives with different discovery modes are handled sequentially
+        onlyScopedBeansPerType.keySet().removeAll(ambiguous);
+
+        Map<AnnotatedType<?>, Object> result = new ConcurrentHashMap<>(onlyScopedBeansPerType.size());
+        forEachParallel(onlyScopedBeansPerType.entrySet(), entry ->
+        {
+            AnnotatedType<?> at = entry.getKey();
+            try
+            {
+                if ((ClassUtil.isConcrete(at.getJavaClass()) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+                {
+                    BeanAttributesImpl<?> beanAttributes = BeanAttributesBuilder.forContext(webBeansContext)
+                            .newBeanAttibutes(at, entry.getValue()).build();
+                    result.put(at, beanAttributes == null ? NOT_A_BEAN : beanAttributes);
+                }
+                else
+                {
+                    result.put(at, NOT_A_BEAN);
+                }
+            }
+            catch (RuntimeException | NoClassDefFoundError | UnsatisfiedLinkError e)
+            {
+                // rethrown in the deployment order
+                result.put(at, e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Resolving {@code @New} injection points creates beans, they are always validated sequentially.
+     */
+    private boolean hasNewQualifier(Set<InjectionPoint> injectionPoints)
+    {
+        for (InjectionPoint injectionPoint : injectionPoints)
+        {
+            for (Annotation qualifier : injectionPoint.getQualifiers())
+            {
+                if (qualifier.annotationType() == New.class)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private boolean isEnabledAlternative(AnnotatedType<?> at, Set<Class<? extends Annotation>> stereotypes)
     {
         AlternativesManager alternativesManager = webBeansContext.getAlternativesManager();
@@ -660,6 +884,24 @@ public class BeansDeployer
         webBeansContext.getBeanManagerImpl().getBeans().removeIf(bean -> !((OwbBean) bean).isEnabled());
     }
 
+    /**
+     * Gives each bean a dense index within the beans of its scope.
+     * Contexts use it to store the contextual instances in an array.
+     * @see org.apache.webbeans.context.ContextualInstanceTable
+     */
+    private void assignContextSlots()
+    {
+        Map<Class<? extends Annotation>, Integer> slotsPerScope = new HashMap<>();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean instanceof AbstractOwbBean)
+            {
+                int slot = slotsPerScope.merge(bean.getScope(), 1, Integer::sum) - 1;
+                ((AbstractOwbBean<?>) bean).setContextSlot(slot);
+            }
+        }
+    }
+
     private void registerAlternativesDecoratorsAndInterceptorsWithPriority(List<AnnotatedType<?>> annotatedTypes)
     {
         AlternativesManager alternativesManager = webBeansContext.getAlternativesManager();
@@ -1153,6 +1395,7 @@ public class BeansDeployer
         if (beans != null && beans.size() > 0)
         {
             LinkedList<String> beanNames = new LinkedList<>();
+            List<Bean<?>> parallelValidations = new ArrayList<>();
             for (Bean<?> bean : beans)
             {
                 try
@@ -1220,7 +1463,14 @@ public class BeansDeployer
                     //Check injection points
                     if (injectionPoints != null)
                     {
-                        webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+                        if (parallelPool != null && !hasNewQualifier(injectionPoints))
+                        {
+                            parallelValidations.add(bean);
+                        }
+                        else
+                        {
+                            webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+                        }
                     }
 
                     //Check passivation scope
@@ -1232,6 +1482,23 @@ public class BeansDeployer
                 }
 
             }
+
+            if (!parallelValidations.isEmpty())
+            {
+                WebBeansUtil webBeansUtil = webBeansContext.getWebBeansUtil();
+                forEachParallel(parallelValidations, bean ->
+                {
+                    try
+                    {
+                        webBeansUtil.validate(bean.getInjectionPoints(), bean);
+                    }
+                    catch (RuntimeException e)
+                    {
+                        throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                    }
+                });
+            }
+
             //Validate Bean names
             validateBeanNames(beanNames);
 
@@ -1314,12 +1581,29 @@ public class BeansDeployer
         {
             Map<BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda = ((BdaScannerService) scanner).getBeanClassesPerBda();
 
+            if (parallelPool != null)
+            {
+                Set<Class<?>> allClasses = new HashSet<>();
+                beanClassesPerBda.values().forEach(allClasses::addAll);
+                if (scanner.getBeanClasses() != null)
+                {
+                    allClasses.addAll(scanner.getBeanClasses());
+                }
+                prepareAnnotatedTypes(allClasses);
+            }
+
             for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
             {
+                if (bootReport != null)
+                {
+                    bootReport.addArchive(bdaEntry.getKey().getBdaUrl(), bdaEntry.getValue().size());
+                }
                 List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
                 annotatedTypesPerBda.put(bdaEntry.getKey(), annotatedTypes);
             }
 
+            addDefaultArchiveToBootReport(scanner.getBeanClasses());
+
             // also add the rest of the class es to the default bda
             // we also need this initialised in case annotatedTypes get added manually at a later step
             annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses));
@@ -1329,6 +1613,11 @@ public class BeansDeployer
             // this path is only for backward compat to older ScannerService implementations
 
             Set<Class<?>> classIndex = scanner.getBeanClasses();
+            addDefaultArchiveToBootReport(classIndex);
+            if (parallelPool != null && classIndex != null)
+            {
+                prepareAnnotatedTypes(classIndex);
+            }
             List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
 
             annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
@@ -1338,6 +1627,52 @@ public class BeansDeployer
         return annotatedTypesPerBda;
     }
 
+    private void addDefaultArchiveToBootReport(Set<Class<?>> classes)
+    {
+        if (bootReport != null && classes != null && !classes.isEmpty())
+        {
+            bootReport.addArchive(defaultBeanArchiveInformation.getBdaUrl(), classes.size());
+        }
+    }
+
+    /**
+     * Creates the AnnotatedTypes of the given classes in the parallel bootstrap pool.
+     * They get cached by the {@link AnnotatedElementFactory} so the sequential
+     * {@link #annotatedTypesFromBdaClassPath(Set, Set)} only has to fire the ProcessAnnotatedType events.
+     */
+    private void prepareAnnotatedTypes(Set<Class<?>> classes)
+    {
+        AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
+        forEachParallel(classes, implClass ->
+        {
+            if (implClass.isAnonymousClass() || Modifier.isPrivate(implClass.getModifiers()) ||
+                    implClass.getAnnotation(Vetoed.class) != null)
+            {
+                return;
+            }
+
+            try
+            {
+                // a NoClassDefFoundError gets handled and logged by the sequential processing
+                implClass.getDeclaredMethods();
+                implClass.getDeclaredFields();
+
+                AnnotatedType<?> annotatedType = annotatedElementFactory.newAnnotatedType(implClass);
+                if (annotatedType != null)
+                {
+                    // initialises the lazy members
+                    annotatedType.getConstructors();
+                    annotatedType.getMethods();
+                    annotatedType.getFields();
+                }
+            }
+            catch (NoClassDefFoundError | UnsatisfiedLinkError | TypeNotPresentException e)
+            {
+                // no-op
+            }
+        });
+    }
+
     /**
      * @param foundClasses classes which already got processed. To prevent picking up the same class from multiple classpaths
      */
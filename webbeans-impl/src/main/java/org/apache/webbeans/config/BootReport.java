@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Collects the numbers of the boot report, see {@link OpenWebBeansConfiguration#BOOT_REPORT}.
+ *
+ * The allocated bytes of a phase only contain the allocations of the thread which executed the deployment,
+ * work done in the parallel bootstrap pool is not included. They are -1 if the JVM doesn't provide them.
+ */
+public class BootReport
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(BootReport.class);
+
+    private static final Method THREAD_ALLOCATED_BYTES = findThreadAllocatedBytes();
+
+    /**
+     * 'true' or the path of the JSON file.
+     */
+    private final String target;
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private final Map<String, Integer> archives = new LinkedHashMap<>();
+
+    /**
+     * Lifecycle observer methods might get notified from the threads of the parallel bootstrap.
+     */
+    private final Map<Class<?>, ObserverTime> extensions = new ConcurrentHashMap<>();
+
+    private long phaseStart;
+    private long phaseAllocationStart;
+
+    public BootReport(String target)
+    {
+        this.target = target;
+    }
+
+    /**
+     * Starts measuring the next phase.
+     */
+    public void startPhase()
+    {
+        phaseStart = System.nanoTime();
+        phaseAllocationStart = allocatedBytes();
+    }
+
+    /**
+     * Records the phase started with the last {@link #startPhase()} or {@link #endPhase(String)}
+     * and starts the next one.
+     */
+    public void endPhase(String name)
+    {
+        long now = System.nanoTime();
+        long allocated = allocatedBytes();
+        long allocatedInPhase = allocated < 0 || phaseAllocationStart < 0 ? -1 : allocated - phaseAllocationStart;
+        phases.put(name, new Phase(TimeUnit.NANOSECONDS.toMillis(now - phaseStart), allocatedInPhase));
+        phaseStart = now;
+        phaseAllocationStart = allocated;
+    }
+
+    public void addArchive(String url, int classCount)
+    {
+        archives.merge(url, classCount, Integer::sum);
+    }
+
+    /**
+     * @param extensionClass the bean class of the lifecycle observer method
+     * @param nanos the time spent in the observer method
+     */
+    public void observerNotified(Class<?> extensionClass, long nanos)
+    {
+        extensions.computeIfAbsent(extensionClass, k -> new ObserverTime()).add(nanos);
+    }
+
+    /**
+     * @return the wall time in ms and the allocated bytes per phase, in execution order
+     */
+    public Map<String, long[]> getPhases()
+    {
+        Map<String, long[]> result = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> result.put(name, new long[]{ phase.millis, phase.allocatedBytes }));
+        return result;
+    }
+
+    /**
+     * @return the number of classes per bean archive url
+     */
+    public Map<String, Integer> getArchives()
+    {
+        return Collections.unmodifiableMap(archives);
+    }
+
+    /**
+     * @return the time in ms spent in the lifecycle observer methods of each Extension
+     */
+    public Map<Class<?>, Long> getExtensionTimes()
+    {
+        Map<Class<?>, Long> result = new LinkedHashMap<>();
+        sortedExtensions().forEach(e -> result.put(e.getKey(), e.getValue().millis()));
+        return result;
+    }
+
+    /**
+     * Logs the summary and writes the JSON file if one got configured.
+     */
+    public void publish()
+    {
+        logger.info(toSummary());
+
+        if (!"true".equalsIgnoreCase(target))
+        {
+            Path file = Paths.get(target);
+            try
+            {
+                if (file.getParent() != null)
+                {
+                    Files.createDirectories(file.getParent());
+                }
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+                {
+                    writer.write(toJson());
+                }
+            }
+            catch (IOException e)
+            {
+                logger.warning("Could not write the boot report to " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public String toSummary()
+    {
+        StringBuilder summary = new StringBuilder("Boot report, phases: ");
+        summary.append(phases.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().millis + "ms" +
+                        (e.getValue().allocatedBytes >= 0 ? "/" + (e.getValue().allocatedBytes >> 20) + "MB" : ""))
+                .collect(Collectors.joining(", ")));
+        summary.append("; extensions: ");
+        summary.append(sortedExtensions().stream()
+                .limit(10)
+                .map(e -> e.getKey().getName() + "=" + e.getValue().millis() + "ms")
+                .collect(Collectors.joining(", ")));
+        summary.append("; archives: ").append(archives.size())
+                .append(" with ").append(archives.values().stream().mapToInt(Integer::intValue).sum())
+                .append(" classes");
+        return summary.toString();
+    }
+
+    public String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\n  \"phases\": [");
+        String separator = "\n";
+        for (Map.Entry<String, Phase> phase : phases.entrySet())
+        {
+            json.append(separator).append("    {\"name\": ").append(quote(phase.getKey()))
+                .append(", \"millis\": ").append(phase.getValue().millis)
+                .append(", \"allocatedBytes\": ").append(phase.getValue().allocatedBytes).append('}');
+            separator = ",\n";
+        }
+        json.append("\n  ],\n  \"extensions\": [");
+        separator = "\n";
+        for (Map.Entry<Class<?>, ObserverTime> extension : sortedExtensions())
+        {
+            json.append(separator).append("    {\"class\": ").append(quote(extension.getKey().getName()))
+                .append(", \"millis\": ").append(extension.getValue().millis())
+                .append(", \"notifications\": ").append(extension.getValue().notifications.sum()).append('}');
+            separator = ",\n";
+        }
+        json.append("\n  ],\n  \"archives\": [");
+        separator = "\n";
+        for (Map.Entry<String, Integer> archive : archives.entrySet())
+        {
+            json.append(separator).append("    {\"url\": ").append(quote(archive.getKey()))
+                .append(", \"classes\": ").append(archive.getValue()).append('}');
+            separator = ",\n";
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private List<Map.Entry<Class<?>, ObserverTime>> sortedExtensions()
+    {
+        List<Map.Entry<Class<?>, ObserverTime>> sorted = new ArrayList<>(extensions.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<Class<?>, ObserverTime> e) -> e.getValue().nanos.sum()).reversed());
+        return sorted;
+    }
+
+    private static String quote(String value)
+    {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray())
+        {
+            if (c == '"' || c == '\\')
+            {
+                quoted.append('\\').append(c);
+            }
+            else if (c < 0x20)
+            {
+                quoted.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static long allocatedBytes()
+    {
+        if (THREAD_ALLOCATED_BYTES == null)
+        {
+            return -1;
+        }
+        try
+        {
+            return (Long) THREAD_ALLOCATED_BYTES.invoke(ManagementFactory.getThreadMXBean(), Thread.currentThread().getId());
+        }
+        catch (Exception e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * com.sun.management.ThreadMXBean is not available on all JVMs, so it only gets accessed via reflection.
+     */
+    private static Method findThreadAllocatedBytes()
+    {
+        try
+        {
+            Class<?> threadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!threadMXBean.isInstance(ManagementFactory.getThreadMXBean()))
+            {
+                return null;
+            }
+            return threadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+        }
+        catch (Exception | LinkageError e)
+        {
+            return null;
+        }
+    }
+
+    private static final class Phase
+    {
+        private final long millis;
+        private final long allocatedBytes;
+
+        private Phase(long millis, long allocatedBytes)
+        {
+            this.millis = millis;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private static final class ObserverTime
+    {
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder notifications = new LongAdder();
+
+        private void add(long time)
+        {
+            nanos.add(time);
+            notifications.increment();
+        }
+
+        private long millis()
+        {
+            return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+        }
+    }
+}
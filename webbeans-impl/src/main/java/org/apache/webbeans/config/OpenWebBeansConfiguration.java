@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -53,6 +54,20 @@ public class OpenWebBeansConfiguration
     /**Timeout interval in ms*/
     public static final String CONVERSATION_TIMEOUT_INTERVAL = "org.apache.webbeans.conversation.Conversation.timeoutInterval";
 
+    /**
+     * Maximum number of long running conversations per session.
+     * If a new conversation exceeds it then the least recently used conversations which are not in use get destroyed.
+     * Default is 0 which means no limit.
+     */
+    public static final String CONVERSATION_MAX_PER_SESSION = "org.apache.webbeans.conversation.maxConversationsPerSession";
+
+    /**
+     * Interval in ms in which a background thread destroys the timed out conversations.
+     * Requests then don't check all conversations of the session anymore.
+     * Default is 0 which checks the conversations at the end of each request.
+     */
+    public static final String CONVERSATION_EXPIRY_INTERVAL = "org.apache.webbeans.conversation.expiryInterval";
+
     /**
      * Environment property which comma separated list of classes which
      * should NOT fail with UnproxyableResolutionException
@@ -79,6 +94,48 @@ public class OpenWebBeansConfiguration
     /**Use EJB Discovery or not*/
     public static final String USE_EJB_DISCOVERY = "org.apache.webbeans.spi.deployer.useEjbMetaDataDiscoveryService";
 
+    /**
+     * Enables the parallel bootstrap of the BeansDeployer.
+     * The creation of the AnnotatedTypes and BeanAttributes as well as the validation of the
+     * injection points get executed in a dedicated ForkJoinPool.
+     * All container lifecycle events still get fired sequentially in the order defined by the spec.
+     * Either 'true' to use one thread per available processor or the number of threads to use.
+     * Default is 'false'.
+     */
+    public static final String PARALLEL_BOOTSTRAP = "org.apache.webbeans.spi.deployer.parallelBootstrap";
+
+    /**
+     * Enables the boot report of the BeansDeployer.
+     * It contains the wall time and the allocated bytes of each deployment phase, the time spent in the
+     * container lifecycle observer methods of each Extension and the number of classes of each bean archive.
+     * 'true' only logs a summary, any other value is the path of a file the report gets written to as JSON.
+     * Default is 'false'.
+     */
+    public static final String BOOT_REPORT = "org.apache.webbeans.spi.deployer.bootReport";
+
+    /**
+     * Maximum number of memoized type assignability checks of the bean and observer resolution.
+     * The cache starts from scratch once it is exceeded, 0 disables the memoization.
+     * Default is 10000.
+     */
+    public static final String TYPE_ASSIGNABILITY_CACHE_SIZE = "org.apache.webbeans.container.typeAssignabilityCacheSize";
+
+    /**
+     * Number of destroyed RequestContexts which get kept for re-use by the next requests.
+     * Only enable it if no code keeps a reference to a RequestContext after the request ended.
+     * Default is 0 which disables the pooling.
+     */
+    public static final String REQUEST_CONTEXT_POOL_SIZE = "org.apache.webbeans.context.requestContextPoolSize";
+
+    /**
+     * If 'true' the contextual instances of passivation capable &#064;SessionScoped beans get kept in their
+     * serialized form once the last request of the session ended.
+     * They only get deserialized again when the next request of the session uses them.
+     * Only enable it if no code keeps a direct reference to a session scoped instance outside of the session.
+     * Default is 'false'.
+     */
+    public static final String COMPACT_SESSION_STORAGE = "org.apache.webbeans.context.compactSessionStorage";
+
     /**Container lifecycle*/
     public static final String CONTAINER_LIFECYCLE = "org.apache.webbeans.spi.ContainerLifecycle";
 
@@ -156,6 +213,18 @@ public class OpenWebBeansConfiguration
      */
     public static final String SCAN_ONLY_BEANS_XML_JARS = "org.apache.webbeans.scanBeansXmlOnly";
 
+    /**
+     * Path of a file used as persistent scan index.
+     * If set, the class names found in each bean archive get stored together with the size and
+     * last modification date of the archive. On the next start all archives which didn't change
+     * (neither their content nor the scan exclusions and filters) get restored from this index
+     * instead of being scanned again.
+     * Note that for restored 'annotated' bean archives only the class level annotation names are available.
+     * A {@link org.apache.xbean.finder.filter.Filter} service is only identified by its class name.
+     * Default is {@code null}, i.e. no index.
+     */
+    public static final String SCAN_INDEX_FILE = "org.apache.webbeans.scanIndex";
+
     /**
      * a comma-separated list of fully qualified class names that should be ignored
      * when determining if a decorator matches its delegate.  These are typically added by
@@ -192,6 +261,16 @@ public class OpenWebBeansConfiguration
      */
     public static final String EAGER_SESSION_INITIALISATION = "org.apache.webbeans.web.eagerSessionInitialisation";
 
+    /**
+     * If 'true' every passivation capable &#064;SessionScoped instance gets stored in its own HttpSession attribute
+     * in serialized form instead of storing all of them with the SessionContext.
+     * At the end of a request only the attributes of the instances which got used in the request
+     * and whose serialized state changed get written back.
+     * This allows clustered servlet containers to only replicate the changed instances.
+     * Default is 'false'.
+     */
+    public static final String SESSION_DIRTY_TRACKING = "org.apache.webbeans.web.sessionDirtyTracking";
+
     /**
      * The Java Version to use for the generated proxy classes.
      * If "auto" then we will pick the version of the current JVM.
@@ -200,6 +279,57 @@ public class OpenWebBeansConfiguration
      */
     public static final String GENERATOR_JAVA_VERSION = "org.apache.webbeans.generator.javaVersion";
 
+    /**
+     * If {@code true} the proxy factories first try to load a proxy class which got generated
+     * at build time (see {@link org.apache.webbeans.proxy.ProxyPreGenerator}) before generating the bytecode.
+     * Proxy names contain a hash of the proxied methods, so outdated proxies are simply not found
+     * and get generated at runtime as usual.
+     * This implies {@code org.apache.webbeans.proxy.useStaticNames} and
+     * {@code org.apache.webbeans.proxy.staticNames.useXxHash64}.
+     * Default is {@code false}.
+     */
+    public static final String PROXY_PRE_GENERATED = "org.apache.webbeans.proxy.preGenerated";
+
+    /**
+     * If {@code true} the normal scope proxies of beans which use the
+     * {@link org.apache.webbeans.intercept.ApplicationScopedBeanInterceptorHandler} (by default &#064;ApplicationScoped beans)
+     * store the contextual instance in a field of the proxy after the first resolution instead of
+     * calling the instance Provider on each method invocation.
+     * The cached instances get dropped when the application context gets destroyed.
+     * Default is {@code false}.
+     *
+     * @see org.apache.webbeans.proxy.CachedInstanceNormalScopeProxyFactory
+     */
+    public static final String PROXY_CACHED_INSTANCE = "org.apache.webbeans.proxy.cachedInstance";
+
+    /**
+     * If {@code true} the business method interceptors of each bean get pre-resolved into
+     * {@link org.apache.webbeans.intercept.InterceptorChains} when the bean gets validated.
+     * Intercepted calls then avoid the per call interceptor lookups and invoke the target method
+     * via a {@link java.lang.invoke.MethodHandle} instead of reflection.
+     * Default is {@code false}.
+     */
+    public static final String COMPILED_INTERCEPTOR_CHAINS = "org.apache.webbeans.intercept.compiledChains";
+
+    /**
+     * If {@code true} the field and initializer method injection of managed beans uses a
+     * {@link org.apache.webbeans.inject.CompiledInjector} per bean class. The injected members get
+     * invoked via {@link java.lang.invoke.MethodHandle}s and the InjectionPoints get resolved only once.
+     * Default is {@code false}.
+     */
+    public static final String COMPILED_INJECTORS = "org.apache.webbeans.inject.compiledInjectors";
+
+    /**
+     * The Executor for &#064;ObservesAsync observer methods if neither an {@link java.util.concurrent.Executor}
+     * SPI service is registered nor an Executor got passed via {@link javax.enterprise.event.NotificationOptions}.
+     * {@code default} uses the built-in executor of the NotificationManager which tracks
+     * the submitted tasks and completes them when the container shuts down,
+     * {@code virtual} runs each async observer method on its own virtual thread.
+     * Virtual threads require Java 21, on older JVMs {@code default} gets used.
+     * Default is {@code default}.
+     */
+    public static final String ASYNC_EVENT_EXECUTOR = "org.apache.webbeans.event.asyncExecutor";
+
 
     /**Default configuration files*/
     private static final String DEFAULT_CONFIG_PROPERTIES_NAME = "META-INF/openwebbeans/openwebbeans.properties";
@@ -411,6 +541,24 @@ public class OpenWebBeansConfiguration
         return Boolean.valueOf(value);
     }
 
+    /**
+     * @return the maximum number of long running conversations per session, 0 if there is no limit
+     * @see #CONVERSATION_MAX_PER_SESSION
+     */
+    public int getMaxConversationsPerSession()
+    {
+        return getNonNegativeInt(CONVERSATION_MAX_PER_SESSION);
+    }
+
+    /**
+     * @return the interval of the background conversation expiry in ms, 0 if it is disabled
+     * @see #CONVERSATION_EXPIRY_INTERVAL
+     */
+    public int getConversationExpiryInterval()
+    {
+        return getNonNegativeInt(CONVERSATION_EXPIRY_INTERVAL);
+    }
+
     /**
      * Flag which indicates that only jars with an explicit META-INF/beans.xml marker file shall get paresed.
      * Default is {@code false}
@@ -551,6 +699,131 @@ public class OpenWebBeansConfiguration
         return generatorJavaVersion;
     }
 
+    /**
+     * @see #COMPILED_INTERCEPTOR_CHAINS
+     */
+    public boolean isCompiledInterceptorChains()
+    {
+        return Boolean.parseBoolean(getProperty(COMPILED_INTERCEPTOR_CHAINS));
+    }
+
+    /**
+     * @see #COMPILED_INJECTORS
+     */
+    public boolean isCompiledInjectors()
+    {
+        return Boolean.parseBoolean(getProperty(COMPILED_INJECTORS));
+    }
+
+    /**
+     * @return {@code default} or {@code virtual}
+     * @see #ASYNC_EVENT_EXECUTOR
+     */
+    public String getAsyncEventExecutor()
+    {
+        String value = getProperty(ASYNC_EVENT_EXECUTOR);
+        if (value == null || value.trim().isEmpty())
+        {
+            return "default";
+        }
+        return value.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the number of threads to use for the parallel bootstrap, 0 if it is disabled
+     * @see #PARALLEL_BOOTSTRAP
+     */
+    public int getParallelBootstrapThreads()
+    {
+        String value = getProperty(PARALLEL_BOOTSTRAP);
+        if (value == null || value.trim().isEmpty() || "false".equalsIgnoreCase(value.trim()))
+        {
+            return 0;
+        }
+        if ("true".equalsIgnoreCase(value.trim()))
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try
+        {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + PARALLEL_BOOTSTRAP + ": " + value);
+        }
+    }
+
+    /**
+     * @return {@code null} if the boot report is disabled, {@code true} to only log it or the path of the JSON file
+     * @see #BOOT_REPORT
+     */
+    public String getBootReport()
+    {
+        String value = getProperty(BOOT_REPORT);
+        if (value == null || value.trim().isEmpty() || "false".equalsIgnoreCase(value.trim()))
+        {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * @return the number of pooled RequestContexts, 0 if the pooling is disabled
+     * @see #REQUEST_CONTEXT_POOL_SIZE
+     */
+    public int getRequestContextPoolSize()
+    {
+        return getNonNegativeInt(REQUEST_CONTEXT_POOL_SIZE);
+    }
+
+    /**
+     * @return the maximum number of memoized type assignability checks, 0 if the memoization is disabled
+     * @see #TYPE_ASSIGNABILITY_CACHE_SIZE
+     */
+    public int getTypeAssignabilityCacheSize()
+    {
+        return getNonNegativeInt(TYPE_ASSIGNABILITY_CACHE_SIZE, 10000);
+    }
+
+    private int getNonNegativeInt(String key)
+    {
+        return getNonNegativeInt(key, 0);
+    }
+
+    private int getNonNegativeInt(String key, int defaultValue)
+    {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty())
+        {
+            return defaultValue;
+        }
+        try
+        {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * @see #COMPACT_SESSION_STORAGE
+     */
+    public boolean isCompactSessionStorage()
+    {
+        return Boolean.parseBoolean(getProperty(COMPACT_SESSION_STORAGE));
+    }
+
+    /**
+     * @see #SESSION_DIRTY_TRACKING
+     */
+    public boolean isSessionDirtyTracking()
+    {
+        return Boolean.parseBoolean(getProperty(SESSION_DIRTY_TRACKING));
+    }
+
     public boolean isSkipNoClassDefFoundErrorTriggers()
     {
         return Boolean.parseBoolean(getProperty(
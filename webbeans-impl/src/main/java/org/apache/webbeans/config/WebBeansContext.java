@@ -33,6 +33,7 @@ import java.util.logging.Level;
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.SerializableBeanVault;
+import org.apache.webbeans.container.TypeAssignabilityCache;
 import org.apache.webbeans.context.creational.CreationalContextFactory;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.conversation.DefaultConversationService;
@@ -58,11 +59,13 @@ import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.service.DefaultInjectionPointService;
 import org.apache.webbeans.service.DefaultLoaderService;
+import org.apache.webbeans.service.DefaultMetricsService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.ApplicationBoundaryService;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
@@ -103,6 +106,8 @@ public class WebBeansContext
     private final InterceptorUtil interceptorUtil = new InterceptorUtil(this);
     private final SecurityService securityService;
     private final LoaderService loaderService;
+    private final MetricsService metricsService;
+    private final TypeAssignabilityCache typeAssignabilityCache;
     private BeanArchiveService beanArchiveService;
     private final InterceptorResolutionService interceptorResolutionService = new InterceptorResolutionService(this);
     private final DeploymentValidationService deploymentValidationService = new DeploymentValidationService(this);
@@ -129,6 +134,7 @@ public class WebBeansContext
     {
         this.openWebBeansConfiguration = openWebBeansConfiguration != null ? openWebBeansConfiguration : new OpenWebBeansConfiguration();
         annotationManager = new AnnotationManager(this);
+        typeAssignabilityCache = new TypeAssignabilityCache(this.openWebBeansConfiguration.getTypeAssignabilityCacheSize());
 
         //pluggable service-loader
         if (initialServices == null || !initialServices.containsKey(LoaderService.class))
@@ -160,6 +166,8 @@ public class WebBeansContext
         loaderService = getService(LoaderService.class);
         securityService = getService(SecurityService.class);
         applicationBoundaryService = getService(ApplicationBoundaryService.class);
+        MetricsService metrics = getService(MetricsService.class);
+        metricsService = metrics != null ? metrics : new DefaultMetricsService();
 
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
         normalScopeProxyFactory = new NormalScopeProxyFactory(this);
@@ -280,6 +288,11 @@ public class WebBeansContext
         return beanManagerImpl;
     }
 
+    public TypeAssignabilityCache getTypeAssignabilityCache()
+    {
+        return typeAssignabilityCache;
+    }
+
     public SerializableBeanVault getSerializableBeanVault()
     {
         return serializableBeanVault;
@@ -427,6 +440,10 @@ public class WebBeansContext
         {
             return new DefaultConversationService();
         }
+        if (DefaultMetricsService.class.getName().equals(singletonName))
+        {
+            return new DefaultMetricsService();
+        }
 
         // Load class by reflection
         Class<?> clazz = ClassUtil.getClassFromName(singletonName);
@@ -571,6 +588,10 @@ public class WebBeansContext
         {
             return clazz.cast(new DefaultConversationService());
         }
+        if (DefaultMetricsService.class == clazz)
+        {
+            return clazz.cast(new DefaultMetricsService());
+        }
 
         // try by reflection for extensions
         try
@@ -658,6 +679,14 @@ public class WebBeansContext
         return loaderService;
     }
 
+    /**
+     * @return the MetricsService, never {@code null}
+     */
+    public MetricsService getMetricsService()
+    {
+        return metricsService;
+    }
+
     public DeploymentValidationService getDeploymentValidationService()
     {
         return deploymentValidationService;
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -62,13 +63,11 @@ import javax.naming.StringRefAddr;
 import org.apache.webbeans.annotation.AnyLiteral;
 import org.apache.webbeans.annotation.DefaultLiteral;
 import org.apache.webbeans.component.AbstractOwbBean;
-import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.CdiInterceptorBean;
 import org.apache.webbeans.component.DecoratorBean;
 import org.apache.webbeans.component.EnterpriseBeanMarker;
 import org.apache.webbeans.component.InjectionTargetBean;
 import org.apache.webbeans.component.JmsBeanMarker;
-import org.apache.webbeans.component.ManagedBean;
 import org.apache.webbeans.component.NewBean;
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.component.ProducerAwareInjectionTargetBean;
@@ -98,6 +97,7 @@ import org.apache.webbeans.portable.LazyInterceptorDefinedInjectionTarget;
 import org.apache.webbeans.portable.events.discovery.ErrorStack;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.adaptor.ELAdaptor;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
@@ -148,6 +148,16 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     /**Normal scoped cache proxies*/
     private Map<Contextual<?>, Object> cacheProxies = new ConcurrentHashMap<>();
 
+    /**
+     * The precomputed state of {@link #getReference(Bean, Type, CreationalContext)} per bean.
+     */
+    private ConcurrentMap<Bean<?>, ReferenceStrategy> referenceStrategies = new ConcurrentHashMap<>();
+
+    /**
+     * @see #getContextAccessor(Class)
+     */
+    private ConcurrentMap<Class<? extends Annotation>, Supplier<Context>> contextAccessors = new ConcurrentHashMap<>();
+
     /**Injection resolver instance*/
     private InjectionResolver injectionResolver;
 
@@ -281,6 +291,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         Asserts.assertNotNull(scopeType, "scopeType");
 
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            metrics.contextLookup(scopeType);
+        }
+
         Context standardContext = webBeansContext.getContextsService().getCurrentContext(scopeType);
 
         if(standardContext != null && standardContext.isActive())
@@ -332,6 +348,38 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return found;
     }
 
+    /**
+     * Gets an accessor which resolves the same Context as {@link #getContext(Class)}.
+     * It first asks the accessor which the ContextsService bound to the scope and only takes
+     * the long way if that context is not active or the scope is a custom one.
+     * The accessors are meant to be fetched once and kept by the callers.
+     */
+    public Supplier<Context> getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        Asserts.assertNotNull(scopeType, "scopeType");
+        return contextAccessors.computeIfAbsent(scopeType, this::createContextAccessor);
+    }
+
+    private Supplier<Context> createContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        Supplier<Context> currentContext = webBeansContext.getContextsService().getCurrentContextAccessor(scopeType);
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        MetricsService metrics = metricsService.isEnabled() ? metricsService : null;
+        return () ->
+        {
+            Context context = currentContext.get();
+            if (context != null && context.isActive())
+            {
+                if (metrics != null)
+                {
+                    metrics.contextLookup(scopeType);
+                }
+                return context;
+            }
+            return getContext(scopeType);
+        };
+    }
+
     @Override
     public Instance<Object> createInstance()
     {
@@ -643,12 +691,24 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             return null;
         }
 
+        return getInjectableReference(injectionPoint, injectionResolver.getInjectionPointBean(injectionPoint), ownerCreationalContext);
+    }
+
+    /**
+     * Like {@link #getInjectableReference(InjectionPoint, CreationalContext)} but with an
+     * already resolved Bean for the InjectionPoint.
+     *
+     * @param injectionPoint the InjectionPoint to get the reference for
+     * @param resolvedBean the Bean resolved for the injectionPoint
+     * @param ownerCreationalContext the CreationalContext of the Bean which owns the injectionPoint
+     * @return the injectable reference
+     */
+    public Object getInjectableReference(InjectionPoint injectionPoint, Bean<?> resolvedBean, CreationalContext<?> ownerCreationalContext)
+    {
         //Injected instance
         Object instance = null;
 
-
-        //Find the injection point Bean
-        Bean<Object> injectedBean = (Bean<Object>)injectionResolver.getInjectionPointBean(injectionPoint);
+        Bean<Object> injectedBean = (Bean<Object>) resolvedBean;
 
 
         if(WebBeansUtil.isDependent(injectedBean))
@@ -726,94 +786,136 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         Asserts.assertNotNull(providedBean, "bean parameter");
 
-        Context context = null;
-        Object instance = null;
-
-        Bean<?> bean =  !OwbBean.class.isInstance(providedBean) ? thirdPartyMapping.get(providedBean) : providedBean;
-        if (bean == null) // more than unlikely but still possible and not invalid (user could create new instance of bean each time, not forbidden)
-        {
-            bean = providedBean;
-        }
-        if (bean instanceof SerializableBean)
+        ReferenceStrategy strategy = referenceStrategies.get(providedBean);
+        if (strategy == null)
         {
-            bean = ((SerializableBean)bean).getBean();
+            strategy = getReferenceStrategy(providedBean);
         }
+        Bean<?> bean = strategy.getBean();
 
         if(!(creationalContext instanceof CreationalContextImpl))
         {
             creationalContext = webBeansContext.getCreationalContextFactory().wrappedCreationalContext(creationalContext, bean);
         }
 
-        if (ManagedBean.class.isInstance(bean))
-        {
-            ManagedBean.class.cast(bean).valid();
-        }
+        strategy.validate();
 
         //Check type if bean type is given
         if(beanType != null && beanType != Object.class)
         {
-            boolean isProducer = AbstractProducerBean.class.isInstance(bean);
-            if(!isProducer && // we have different rules for producers
-               !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
-               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
-               !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
+            if (!strategy.isAllowedType(beanType))
             {
-                throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
+                if(!isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, false) &&
+                   !webBeansContext.getTypeAssignabilityCache().satisfiesDependency(false, false, beanType, bean.getBeanClass()) &&
+                   !webBeansContext.getTypeAssignabilityCache().satisfiesDependencyRaw(false, false, beanType, bean.getBeanClass()))
+                {
+                    throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
+                }
+                strategy.addAllowedType(beanType);
             }
-
-        }
-        else if (bean instanceof OwbBean)
-        {
-            // we cannot always use getBeanClass() as this will
-            // return the containing class for producer methods and fields
-            beanType = ((OwbBean) bean).getReturnType();
         }
         else
         {
-            beanType = bean.getBeanClass();
+            beanType = strategy.getDefaultType();
         }
 
         //Scope is normal
-        if (isNormalScope(bean.getScope()))
+        if (strategy.isNormalScoped())
         {
-            instance = getEjbOrJmsProxyReference(bean, beanType,creationalContext);
-
-            if(instance != null)
+            if (strategy.isEjbOrJms())
             {
-                return instance;
+                Object instance = getEjbOrJmsProxyReference(bean, beanType, creationalContext);
+                if (instance != null)
+                {
+                    return instance;
+                }
             }
 
-            instance = cacheProxies.get(bean);
-
+            Object instance = strategy.getProxy();
             if (instance == null)
             {
-                //Create Managed Bean Proxy
-                instance = webBeansContext.getNormalScopeProxyFactory().createNormalScopeProxy(bean);
+                instance = cacheProxies.get(bean);
 
-                //Cached instance
-                cacheProxies.put(bean, instance);
-            }
+                if (instance == null)
+                {
+                    //Create Managed Bean Proxy
+                    instance = webBeansContext.getNormalScopeProxyFactory().createNormalScopeProxy(bean);
 
+                    //Cached instance
+                    cacheProxies.put(bean, instance);
+                }
+                strategy.setProxy(instance);
+            }
+            return instance;
         }
-        //Create Pseudo-Scope Bean Instance
-        else
-        {
-            //Get bean context
-            context = getContext(bean.getScope());
 
-            //Get instance for ejb or jms
-            instance = getEjbOrJmsProxyReference(bean, beanType, creationalContext);
+        //Create Pseudo-Scope Bean Instance
+        //Get bean context
+        Context context = strategy.getContext();
 
-            if(instance != null)
+        //Get instance for ejb or jms
+        if (strategy.isEjbOrJms())
+        {
+            Object instance = getEjbOrJmsProxyReference(bean, beanType, creationalContext);
+            if (instance != null)
             {
                 return instance;
             }
+        }
+
+        //Get dependent from DependentContex that create contextual instance
+        return context.get((Bean<Object>) bean, (CreationalContext<Object>) creationalContext);
+    }
+
+    private ReferenceStrategy createReferenceStrategy(Bean<?> bean)
+    {
+        boolean normalScoped = isNormalScope(bean.getScope());
+        return new ReferenceStrategy(bean, normalScoped, normalScoped ? null : getContextAccessor(bean.getScope()));
+    }
+
+    /**
+     * Computes the {@link ReferenceStrategy} of all beans, so the first {@link #getReference} calls
+     * at runtime don't need to do it.
+     */
+    public void prepareReferenceStrategies()
+    {
+        for (Bean<?> bean : getBeans())
+        {
+            getReferenceStrategy(bean);
+        }
+    }
 
-            //Get dependent from DependentContex that create contextual instance
-            instance = context.get((Bean<Object>)bean, (CreationalContext<Object>)creationalContext);
+    private ReferenceStrategy getReferenceStrategy(Bean<?> providedBean)
+    {
+        ReferenceStrategy strategy = referenceStrategies.get(providedBean);
+        if (strategy != null)
+        {
+            return strategy;
         }
 
-        return instance;
+        if (providedBean instanceof SerializableBean)
+        {
+            // the wrappers usually get created on the fly, so we don't cache them
+            return getReferenceStrategy(((SerializableBean<?>) providedBean).getBean());
+        }
+
+        Bean<?> bean = !OwbBean.class.isInstance(providedBean) ? thirdPartyMapping.get(providedBean) : providedBean;
+        if (bean == null) // more than unlikely but still possible and not invalid (user could create new instance of bean each time, not forbidden)
+        {
+            return createReferenceStrategy(providedBean);
+        }
+
+        strategy = createReferenceStrategy(bean);
+        if (deploymentBeans.contains(bean))
+        {
+            // only cache our own beans to not leak beans which got created ad hoc
+            ReferenceStrategy existing = referenceStrategies.putIfAbsent(providedBean, strategy);
+            if (existing != null)
+            {
+                strategy = existing;
+            }
+        }
+        return strategy;
     }
 
     /**
@@ -934,7 +1036,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         for (Type beanApiType : beanTypes)
         {
-            if (GenericsUtil.satisfiesDependency(false, producer, givenType, beanApiType, new HashMap<>()))
+            if (webBeansContext.getTypeAssignabilityCache().satisfiesDependency(false, producer, givenType, beanApiType))
             {
                 return true;
             }
@@ -1475,6 +1577,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
 
         injectionResolver.clearCaches();
         webBeansContext.getAnnotationManager().clearCaches();
+        webBeansContext.getTypeAssignabilityCache().clear();
 
         // finally destroy all SPI services
         webBeansContext.clear();
@@ -1483,6 +1586,11 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     public void clearCacheProxies()
     {
         cacheProxies.clear();
+        referenceStrategies.clear();
+        contextAccessors.clear();
+
+        // the proxies might be injected somewhere already
+        webBeansContext.getNormalScopeProxyFactory().invalidateCachedInstances();
     }
 
     public boolean isInUse()
@@ -100,6 +100,13 @@ public class InjectionResolver
      */
     private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
 
+    /**
+     * Immutable table of all EL names with the Bean they resolve to.
+     * Lazily built on first use after the startup.
+     * @see #resolveByName(String)
+     */
+    private volatile NamedBeans namedBeans;
+
     /**
      * Whether the container is in startup mode.
      * Set to {@code false} immediately before the BeforeDeploymentValidation event gets fired.
@@ -135,6 +142,14 @@ public class InjectionResolver
     {
         this.startup = startup;
     }
+
+    /**
+     * @return {@code true} as long as the deployment is not validated, the resolution results might still change
+     */
+    public boolean isStartup()
+    {
+        return startup;
+    }
     
     /**
      * Clear caches.
@@ -143,6 +158,7 @@ public class InjectionResolver
     {
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        namedBeans = null;
     }
 
     /**
@@ -407,6 +423,40 @@ public class InjectionResolver
     }
 
 
+    /**
+     * Resolves the Bean with the given ExpressionLanguage name.
+     * After the startup this is a single lookup in a table of all named beans,
+     * so names of non CDI beans (e.g. JSF implicit objects) get rejected cheaply.
+     *
+     * @param name bean name
+     * @return the resolved bean or {@code null} if there is no Bean with this name
+     * @throws javax.enterprise.inject.AmbiguousResolutionException if more than 1 bean has this name
+     */
+    @SuppressWarnings("unchecked")
+    public Bean<?> resolveByName(String name)
+    {
+        Asserts.assertNotNull(name, "name parameter");
+
+        NamedBeans table = namedBeans;
+        if (table == null)
+        {
+            if (startup)
+            {
+                return resolve((Set) implResolveByName(name), null);
+            }
+            table = new NamedBeans(webBeansContext.getBeanManagerImpl().getBeans());
+            namedBeans = table;
+        }
+
+        Bean<?> bean = table.beans.get(name);
+        if (bean == null && table.ambiguousNames.contains(name))
+        {
+            // let the regular resolution report the ambiguity
+            return resolve((Set) implResolveByName(name), null);
+        }
+        return bean;
+    }
+
     /**
      * Resolution by type.
      *
@@ -511,9 +561,9 @@ public class InjectionResolver
                     for (Type componentApiType : component.getTypes())
                     {
 
-                        if (GenericsUtil.satisfiesDependency(
+                        if (webBeansContext.getTypeAssignabilityCache().satisfiesDependency(
                                 isDelegate, AbstractProducerBean.class.isInstance(component),
-                                injectionPointType, componentApiType, new HashMap<>()))
+                                injectionPointType, componentApiType))
                         {
                             resolvedComponents.add(component);
                             break;
@@ -598,7 +648,7 @@ public class InjectionResolver
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             for (Type type : bean.getTypes())
             {
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, type, new HashMap<>()))
+                if (webBeansContext.getTypeAssignabilityCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, type))
                 {
                     resolved.add(bean);
                 }
@@ -624,7 +674,7 @@ public class InjectionResolver
             for (Type componentApiType : component.getTypes())
             {
 
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType, new HashMap<>()))
+                if (webBeansContext.getTypeAssignabilityCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType))
                 {
                     resolvedComponents.add(component);
                     break;
@@ -837,4 +887,44 @@ public class InjectionResolver
     {
         return webBeansContext.getBeanManagerImpl().getAdditionalAnnotatedTypeQualifiers().get(qualifier);
     }
+
+    /**
+     * EL name to Bean table, see {@link #resolveByName(String)}.
+     */
+    private final class NamedBeans
+    {
+        private final Map<String, Bean<?>> beans;
+        private final Set<String> ambiguousNames;
+
+        @SuppressWarnings("unchecked")
+        private NamedBeans(Set<Bean<?>> deployedBeans)
+        {
+            Map<String, Set<Bean<?>>> beansByName = new HashMap<>();
+            for (Bean<?> bean : deployedBeans)
+            {
+                if (bean.getName() != null)
+                {
+                    beansByName.computeIfAbsent(bean.getName(), k -> new HashSet<>()).add(bean);
+                }
+            }
+
+            Map<String, Bean<?>> resolvedBeans = new HashMap<>();
+            Set<String> ambiguous = new HashSet<>();
+            for (Map.Entry<String, Set<Bean<?>>> entry : beansByName.entrySet())
+            {
+                Set<Bean<?>> resolved = entry.getValue().size() == 1 ? entry.getValue() : resolveAll((Set) entry.getValue());
+                if (resolved.size() == 1)
+                {
+                    resolvedBeans.put(entry.getKey(), resolved.iterator().next());
+                }
+                else if (resolved.size() > 1)
+                {
+                    ambiguous.add(entry.getKey());
+                }
+            }
+
+            beans = resolvedBeans;
+            ambiguousNames = ambiguous;
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.component.AbstractProducerBean;
+import org.apache.webbeans.component.EnterpriseBeanMarker;
+import org.apache.webbeans.component.JmsBeanMarker;
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.component.OwbBean;
+
+/**
+ * Everything {@link BeanManagerImpl#getReference(Bean, Type, javax.enterprise.context.spi.CreationalContext)}
+ * needs to know about a bean, computed once instead of on each call.
+ */
+final class ReferenceStrategy
+{
+    /**
+     * The bean the reference gets created for, 3rd party beans are already mapped to their OWB wrapper.
+     */
+    private final Bean<?> bean;
+
+    private final boolean normalScoped;
+    private final boolean producer;
+    private final boolean ejbOrJms;
+    private final ManagedBean<?> managedBean;
+
+    /**
+     * The accessor of the Context of pseudo scoped beans, {@code null} for normal scoped beans.
+     */
+    private final Supplier<Context> contextAccessor;
+
+    /**
+     * The type used if no bean type is given.
+     */
+    private final Type defaultType;
+
+    /**
+     * The bean types which already passed the assignability check.
+     */
+    private final Set<Type> allowedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The normal scoping proxy, created on the first request.
+     */
+    private volatile Object proxy;
+
+    ReferenceStrategy(Bean<?> bean, boolean normalScoped, Supplier<Context> contextAccessor)
+    {
+        this.bean = bean;
+        this.normalScoped = normalScoped;
+        this.contextAccessor = contextAccessor;
+        producer = bean instanceof AbstractProducerBean;
+        ejbOrJms = bean instanceof EnterpriseBeanMarker || bean instanceof JmsBeanMarker;
+        managedBean = bean instanceof ManagedBean ? (ManagedBean<?>) bean : null;
+
+        // we cannot always use getBeanClass() as this will
+        // return the containing class for producer methods and fields
+        defaultType = bean instanceof OwbBean ? ((OwbBean<?>) bean).getReturnType() : bean.getBeanClass();
+
+        for (Type type : bean.getTypes())
+        {
+            if (type instanceof Class)
+            {
+                allowedTypes.add(type);
+            }
+        }
+    }
+
+    Bean<?> getBean()
+    {
+        return bean;
+    }
+
+    boolean isNormalScoped()
+    {
+        return normalScoped;
+    }
+
+    /**
+     * @return the active Context of a pseudo scoped bean
+     */
+    Context getContext()
+    {
+        return contextAccessor.get();
+    }
+
+    boolean isProducer()
+    {
+        return producer;
+    }
+
+    boolean isEjbOrJms()
+    {
+        return ejbOrJms;
+    }
+
+    void validate()
+    {
+        if (managedBean != null)
+        {
+            managedBean.valid();
+        }
+    }
+
+    Type getDefaultType()
+    {
+        return defaultType;
+    }
+
+    /**
+     * @return {@code true} if the given type is known to be applicable, producers accept all types
+     */
+    boolean isAllowedType(Type type)
+    {
+        return producer || allowedTypes.contains(type);
+    }
+
+    void addAllowedType(Type type)
+    {
+        allowedTypes.add(type);
+    }
+
+    Object getProxy()
+    {
+        return proxy;
+    }
+
+    void setProxy(Object proxy)
+    {
+        this.proxy = proxy;
+    }
+}
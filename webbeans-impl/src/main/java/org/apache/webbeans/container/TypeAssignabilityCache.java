@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.webbeans.util.GenericsUtil;
+
+/**
+ * Memoizes the results of the {@link GenericsUtil} assignability checks.
+ *
+ * The checks only depend on the given types and flags, so their results can be cached as long
+ * as the types exist. The cache belongs to a WebBeansContext and gets cleared with it.
+ *
+ * The types get interned, so an OwbParametrizedTypeImpl and an equal JDK ParameterizedType
+ * share one canonical instance and the lookups mostly hit the identity check of the map.
+ * Once the configured number of results is exceeded the cache starts from scratch.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#TYPE_ASSIGNABILITY_CACHE_SIZE
+ */
+public class TypeAssignabilityCache
+{
+    private static final int DELEGATE_OR_EVENT = 1;
+    private static final int PRODUCER = 2;
+
+    private static final int SATISFIES_DEPENDENCY = 0;
+    private static final int SATISFIES_DEPENDENCY_RAW = 4;
+    private static final int IS_ASSIGNABLE_FROM = 8;
+
+    /**
+     * requiredType -&gt; beanType -&gt; result, indexed by the operation and flags.
+     */
+    private final ConcurrentMap<Type, ConcurrentMap<Type, Boolean>>[] results;
+
+    private final ConcurrentMap<Type, Type> internedTypes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int maxSize;
+
+    /**
+     * @param maxSize the maximum number of cached results, 0 disables the cache
+     */
+    public TypeAssignabilityCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+        results = new ConcurrentMap[IS_ASSIGNABLE_FROM + DELEGATE_OR_EVENT + PRODUCER + 1];
+        for (int i = 0; i < results.length; i++)
+        {
+            results[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * @see GenericsUtil#satisfiesDependency(boolean, boolean, Type, Type, java.util.Map)
+     */
+    public boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        if (maxSize == 0)
+        {
+            return GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, new HashMap<>());
+        }
+        int operation = SATISFIES_DEPENDENCY | flags(isDelegateOrEvent, isProducer);
+        Boolean result = get(operation, injectionPointType, beanType);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, new HashMap<>());
+            put(operation, injectionPointType, beanType, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#satisfiesDependencyRaw(boolean, boolean, Type, Type, java.util.Map)
+     */
+    public boolean satisfiesDependencyRaw(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        if (maxSize == 0)
+        {
+            return GenericsUtil.satisfiesDependencyRaw(isDelegateOrEvent, isProducer, injectionPointType, beanType, new HashMap<>());
+        }
+        int operation = SATISFIES_DEPENDENCY_RAW | flags(isDelegateOrEvent, isProducer);
+        Boolean result = get(operation, injectionPointType, beanType);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependencyRaw(isDelegateOrEvent, isProducer, injectionPointType, beanType, new HashMap<>());
+            put(operation, injectionPointType, beanType, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#isAssignableFrom(boolean, boolean, Type, Type, java.util.Map)
+     */
+    public boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        if (maxSize == 0)
+        {
+            return GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, new HashMap<>());
+        }
+        int operation = IS_ASSIGNABLE_FROM | flags(isDelegateOrEvent, isProducer);
+        Boolean result = get(operation, requiredType, beanType);
+        if (result == null)
+        {
+            result = GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, new HashMap<>());
+            put(operation, requiredType, beanType, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the canonical instance of all types which are equal to the given one
+     */
+    public Type intern(Type type)
+    {
+        if (type instanceof Class || maxSize == 0)
+        {
+            return type;
+        }
+        Type interned = internedTypes.get(type);
+        if (interned != null)
+        {
+            return interned;
+        }
+        if (internedTypes.size() >= maxSize)
+        {
+            return type;
+        }
+        interned = internedTypes.putIfAbsent(type, type);
+        return interned != null ? interned : type;
+    }
+
+    public int size()
+    {
+        return size.get();
+    }
+
+    public void clear()
+    {
+        for (ConcurrentMap<Type, ConcurrentMap<Type, Boolean>> operationResults : results)
+        {
+            operationResults.clear();
+        }
+        internedTypes.clear();
+        size.set(0);
+    }
+
+    private Boolean get(int operation, Type requiredType, Type beanType)
+    {
+        ConcurrentMap<Type, Boolean> beanTypes = results[operation].get(requiredType);
+        return beanTypes == null ? null : beanTypes.get(beanType);
+    }
+
+    private void put(int operation, Type requiredType, Type beanType, Boolean result)
+    {
+        if (size.incrementAndGet() > maxSize)
+        {
+            clear();
+            size.incrementAndGet();
+        }
+        results[operation].computeIfAbsent(intern(requiredType), k -> new ConcurrentHashMap<>())
+            .putIfAbsent(intern(beanType), result);
+    }
+
+    private static int flags(boolean isDelegateOrEvent, boolean isProducer)
+    {
+        return (isDelegateOrEvent ? DELEGATE_OR_EVENT : 0) | (isProducer ? PRODUCER : 0);
+    }
+}
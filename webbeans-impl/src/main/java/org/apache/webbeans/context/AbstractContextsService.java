@@ -32,6 +32,7 @@ import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
+import org.apache.webbeans.conversation.ConversationStorage;
 import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.spi.ContextsService;
 
@@ -110,7 +111,10 @@ public abstract class AbstractContextsService implements ContextsService
         {
             conversationManager = webBeansContext.getConversationManager();
             Set<ConversationContext> conversationContexts = conversationManager.getSessionConversations(sessionContext, false);
-            if (conversationContexts != null)
+
+            // otherwise the background expiry takes care of them
+            if (conversationContexts != null
+                && !(conversationManager.hasBackgroundExpiry() && conversationContexts instanceof ConversationStorage))
             {
                 Iterator<ConversationContext> convIt = conversationContexts.iterator();
                 while (convIt.hasNext())
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+
+/**
+ * Thread safe variant of the {@link ContextualInstanceTable} for contexts
+ * which get used by many threads, like the session or the application context.
+ *
+ * Lookups don't take any lock. All modifications are synchronized, they only
+ * happen when a contextual instance gets created or destroyed.
+ * Beans without a slot get stored in a ConcurrentHashMap.
+ */
+public class ConcurrentContextualInstanceTable extends AbstractMap<Contextual<?>, BeanInstanceBag<?>>
+    implements ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>
+{
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(0);
+
+    private final ConcurrentMap<Contextual<?>, BeanInstanceBag<?>> fallback = new ConcurrentHashMap<>();
+
+    private volatile int slotCount;
+
+    @Override
+    public BeanInstanceBag<?> get(Object key)
+    {
+        Object contextual = ContextualInstanceTable.unwrap(key);
+        int slot = ContextualInstanceTable.slotOf(contextual);
+        if (slot >= 0)
+        {
+            AtomicReferenceArray<Slot> current = slots;
+            if (slot < current.length())
+            {
+                Slot entry = current.get(slot);
+                if (entry != null && entry.contextual == contextual)
+                {
+                    return entry.bag;
+                }
+            }
+        }
+        return fallback.isEmpty() ? null : fallback.get(contextual);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> put(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        Contextual<?> contextual = (Contextual<?>) ContextualInstanceTable.unwrap(key);
+        int slot = ContextualInstanceTable.slotOf(contextual);
+        if (slot >= 0)
+        {
+            AtomicReferenceArray<Slot> current = ensureCapacity(slot);
+            Slot existing = current.get(slot);
+            if (existing == null || existing.contextual == contextual)
+            {
+                current.set(slot, new Slot(contextual, value));
+                // the bean might have been stored before it got its slot
+                BeanInstanceBag<?> unslotted = fallback.remove(contextual);
+                if (existing != null)
+                {
+                    return existing.bag;
+                }
+                slotCount++;
+                return unslotted;
+            }
+        }
+        return fallback.put(contextual, value);
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> putIfAbsent(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        BeanInstanceBag<?> existing = get(key);
+        if (existing != null)
+        {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> remove(Object key)
+    {
+        Object contextual = ContextualInstanceTable.unwrap(key);
+        int slot = ContextualInstanceTable.slotOf(contextual);
+        AtomicReferenceArray<Slot> current = slots;
+        if (slot >= 0 && slot < current.length())
+        {
+            Slot entry = current.get(slot);
+            if (entry != null && entry.contextual == contextual)
+            {
+                current.set(slot, null);
+                slotCount--;
+                return entry.bag;
+            }
+        }
+        return fallback.remove(contextual);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value)
+    {
+        BeanInstanceBag<?> existing = get(key);
+        if (existing != null && existing.equals(value))
+        {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean replace(Contextual<?> key, BeanInstanceBag<?> oldValue, BeanInstanceBag<?> newValue)
+    {
+        BeanInstanceBag<?> existing = get(key);
+        if (existing != null && existing.equals(oldValue))
+        {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> replace(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        return get(key) != null ? put(key, value) : null;
+    }
+
+    @Override
+    public int size()
+    {
+        return slotCount + fallback.size();
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        slots = new AtomicReferenceArray<>(0);
+        slotCount = 0;
+        fallback.clear();
+    }
+
+    /**
+     * The iteration works on a snapshot of the slots and is weakly consistent like the one of a ConcurrentHashMap.
+     */
+    @Override
+    public Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet()
+    {
+        return new AbstractSet<Entry<Contextual<?>, BeanInstanceBag<?>>>()
+        {
+            @Override
+            public Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> iterator()
+            {
+                List<Entry<Contextual<?>, BeanInstanceBag<?>>> entries = new ArrayList<>(size());
+                AtomicReferenceArray<Slot> current = slots;
+                for (int i = 0; i < current.length(); i++)
+                {
+                    Slot entry = current.get(i);
+                    if (entry != null)
+                    {
+                        entries.add(new SimpleImmutableEntry<>(entry.contextual, entry.bag));
+                    }
+                }
+                for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> entry : fallback.entrySet())
+                {
+                    entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+                }
+                return entries.iterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return ConcurrentContextualInstanceTable.this.size();
+            }
+        };
+    }
+
+    /**
+     * Must only be invoked while holding the lock.
+     */
+    private AtomicReferenceArray<Slot> ensureCapacity(int slot)
+    {
+        AtomicReferenceArray<Slot> current = slots;
+        if (slot < current.length())
+        {
+            return current;
+        }
+
+        int capacity = Math.max(slot + 1, Math.max(INITIAL_CAPACITY, current.length() * 2));
+        AtomicReferenceArray<Slot> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++)
+        {
+            grown.set(i, current.get(i));
+        }
+        slots = grown;
+        return grown;
+    }
+
+    private static final class Slot
+    {
+        private final Contextual<?> contextual;
+        private final BeanInstanceBag<?> bag;
+
+        private Slot(Contextual<?> contextual, BeanInstanceBag<?> bag)
+        {
+            this.contextual = contextual;
+            this.bag = bag;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.container.SerializableBean;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+
+/**
+ * Storage for the contextual instances of a context which uses the
+ * {@link AbstractOwbBean#getContextSlot() context slot} of the beans as array index
+ * instead of hashing the rich Bean objects.
+ *
+ * Beans without a slot (e.g. added after the deployment) and beans whose slot is already taken
+ * by a bean of another scope get stored in a fallback map.
+ * This class is not thread safe, it is meant for contexts which are only used by a single thread at a time.
+ * @see ConcurrentContextualInstanceTable
+ */
+public class ContextualInstanceTable extends AbstractMap<Contextual<?>, BeanInstanceBag<?>>
+{
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Contextual<?>[] contextuals = new Contextual<?>[0];
+    private BeanInstanceBag<?>[] bags = new BeanInstanceBag<?>[0];
+
+    /**
+     * all slots >= highWaterMark are empty
+     */
+    private int highWaterMark;
+    private int slotCount;
+
+    private Map<Contextual<?>, BeanInstanceBag<?>> fallback;
+
+    @Override
+    public BeanInstanceBag<?> get(Object key)
+    {
+        Object contextual = unwrap(key);
+        int slot = slotOf(contextual);
+        if (slot >= 0 && slot < highWaterMark && contextuals[slot] == contextual)
+        {
+            return bags[slot];
+        }
+        return fallback == null ? null : fallback.get(contextual);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public BeanInstanceBag<?> put(Contextual<?> contextual, BeanInstanceBag<?> value)
+    {
+        Contextual<?> key = (Contextual<?>) unwrap(contextual);
+        int slot = slotOf(key);
+        if (slot >= 0)
+        {
+            if (slot >= contextuals.length)
+            {
+                int capacity = Math.max(slot + 1, Math.max(INITIAL_CAPACITY, contextuals.length * 2));
+                contextuals = Arrays.copyOf(contextuals, capacity);
+                bags = Arrays.copyOf(bags, capacity);
+            }
+
+            Contextual<?> existing = contextuals[slot];
+            if (existing == null || existing == key)
+            {
+                BeanInstanceBag<?> previous = bags[slot];
+                contextuals[slot] = key;
+                bags[slot] = value;
+                if (existing == null)
+                {
+                    slotCount++;
+                    highWaterMark = Math.max(highWaterMark, slot + 1);
+                    if (fallback != null)
+                    {
+                        // the bean might have been stored before it got its slot
+                        BeanInstanceBag<?> unslotted = fallback.remove(key);
+                        if (previous == null)
+                        {
+                            previous = unslotted;
+                        }
+                    }
+                }
+                return previous;
+            }
+        }
+
+        if (fallback == null)
+        {
+            fallback = new HashMap<>();
+        }
+        return fallback.put(key, value);
+    }
+
+    @Override
+    public BeanInstanceBag<?> remove(Object key)
+    {
+        Object contextual = unwrap(key);
+        int slot = slotOf(contextual);
+        if (slot >= 0 && slot < highWaterMark && contextuals[slot] == contextual)
+        {
+            BeanInstanceBag<?> previous = bags[slot];
+            contextuals[slot] = null;
+            bags[slot] = null;
+            slotCount--;
+            return previous;
+        }
+        return fallback == null ? null : fallback.remove(contextual);
+    }
+
+    @Override
+    public int size()
+    {
+        return slotCount + (fallback == null ? 0 : fallback.size());
+    }
+
+    /**
+     * Only touches the used part of the table, so it is cheap enough to re-use the table.
+     */
+    @Override
+    public void clear()
+    {
+        Arrays.fill(contextuals, 0, highWaterMark, null);
+        Arrays.fill(bags, 0, highWaterMark, null);
+        highWaterMark = 0;
+        slotCount = 0;
+        if (fallback != null)
+        {
+            fallback.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet()
+    {
+        return new AbstractSet<Entry<Contextual<?>, BeanInstanceBag<?>>>()
+        {
+            @Override
+            public Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> iterator()
+            {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return ContextualInstanceTable.this.size();
+            }
+        };
+    }
+
+    /**
+     * A SerializableBean is equal to the bean it wraps, so it has to end up in the same slot.
+     */
+    static Object unwrap(Object key)
+    {
+        return key instanceof SerializableBean ? ((SerializableBean<?>) key).getBean() : key;
+    }
+
+    static int slotOf(Object key)
+    {
+        return key instanceof AbstractOwbBean ? ((AbstractOwbBean<?>) key).getContextSlot() : -1;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>>
+    {
+        private int slot = nextSlot(0);
+        private Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> fallbackIterator;
+
+        private int nextSlot(int from)
+        {
+            int i = from;
+            while (i < highWaterMark && contextuals[i] == null)
+            {
+                i++;
+            }
+            return i;
+        }
+
+        private Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> fallbackIterator()
+        {
+            if (fallbackIterator == null)
+            {
+                fallbackIterator = fallback == null
+                        ? Collections.<Entry<Contextual<?>, BeanInstanceBag<?>>>emptyIterator()
+                        : fallback.entrySet().iterator();
+            }
+            return fallbackIterator;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return slot < highWaterMark || fallbackIterator().hasNext();
+        }
+
+        @Override
+        public Entry<Contextual<?>, BeanInstanceBag<?>> next()
+        {
+            if (slot < highWaterMark)
+            {
+                Entry<Contextual<?>, BeanInstanceBag<?>> entry = new SimpleImmutableEntry<>(contextuals[slot], bags[slot]);
+                slot = nextSlot(slot + 1);
+                return entry;
+            }
+            if (!fallbackIterator().hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return fallbackIterator().next();
+        }
+    }
+}
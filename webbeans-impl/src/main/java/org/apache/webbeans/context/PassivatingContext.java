@@ -19,40 +19,180 @@
 package org.apache.webbeans.context;
 
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInput;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
 import java.lang.annotation.Annotation;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.OwbCustomObjectInputStream;
 import org.apache.webbeans.util.WebBeansUtil;
 
 /**
  * Base class for passivating contexts.
  * It basically provides serialisation support
+ *
+ * The contextual instances might also be kept in their serialized form, see {@link #compact()}.
+ * Such an instance only gets deserialized when it gets used the next time.
+ * Instances which didn't get used since they got compacted or read from the stream
+ * get written as they are without serializing them again.
  */
 public abstract class PassivatingContext extends AbstractContext implements Externalizable
 {
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(PassivatingContext.class);
+
+    /**
+     * The serialized BeanInstanceBags which didn't get used yet, by passivation id.
+     * All modifications are guarded by the map itself.
+     */
+    private final Map<String, byte[]> serializedInstances = new ConcurrentHashMap<>();
 
     public PassivatingContext(Class<? extends Annotation> scopeType)
     {
         super(scopeType);
     }
 
+    @Override
+    public <T> T get(Contextual<T> component)
+    {
+        checkActive();
+        restore(component);
+        return super.get(component);
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        restore(contextual);
+        return super.getInstance(contextual, creationalContext);
+    }
+
+    @Override
+    public void destroyInstance(Contextual<?> contextual)
+    {
+        restore(contextual);
+        super.destroyInstance(contextual);
+    }
+
+    @Override
+    public void destroy()
+    {
+        restoreAll();
+        super.destroy();
+    }
+
+    /**
+     * Moves all passivation capable contextual instances into their serialized form.
+     * Instances which cannot be serialized stay as they are.
+     *
+     * This must only be invoked while no other thread uses this context.
+     */
+    public void compact()
+    {
+        synchronized (serializedInstances)
+        {
+            for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
+            {
+                BeanInstanceBag<?> bag = beanBagEntry.getValue();
+                if (bag.getBeanInstance() == null)
+                {
+                    continue;
+                }
+
+                Contextual<?> contextual = beanBagEntry.getKey();
+                String id = WebBeansUtil.getPassivationId(contextual);
+                if (id == null || !isCompactable(id))
+                {
+                    continue;
+                }
+
+                byte[] serialized = serialize(bag);
+                if (serialized != null)
+                {
+                    serializedInstances.put(id, serialized);
+                    componentInstanceMap.remove(contextual);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the contextual instance with the given passivation id might get {@link #compact() compacted}
+     */
+    protected boolean isCompactable(String passivationId)
+    {
+        return true;
+    }
+
+    /**
+     * @return the serialized BeanInstanceBag of the given Contextual or {@code null} if there is no
+     *         contextual instance or it cannot be serialized
+     */
+    public byte[] getSerializedInstance(Contextual<?> contextual)
+    {
+        String id = WebBeansUtil.getPassivationId(contextual);
+        if (id != null)
+        {
+            byte[] serialized = serializedInstances.get(id);
+            if (serialized != null)
+            {
+                return serialized;
+            }
+        }
+
+        BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+        if (bag == null || bag.getBeanInstance() == null)
+        {
+            return null;
+        }
+        return serialize(bag);
+    }
+
+    /**
+     * Adds a serialized BeanInstanceBag, e.g. one which got stored outside of this context.
+     * It only gets deserialized once the contextual instance gets used.
+     */
+    public void addSerializedInstance(String passivationId, byte[] serialized)
+    {
+        synchronized (serializedInstances)
+        {
+            serializedInstances.put(passivationId, serialized);
+        }
+    }
+
+    /**
+     * @return the number of contextual instances which are currently kept in their serialized form
+     */
+    public int getSerializedInstanceCount()
+    {
+        return serializedInstances.size();
+    }
+
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
         WebBeansContext webBeansContext = WebBeansContext.currentInstance();
 
         scopeType = (Class<? extends Annotation>) in.readObject();
-        Map<String, BeanInstanceBag<?>> map = (Map<String, BeanInstanceBag<?>>)in.readObject();
+        Map<String, Object> map = (Map<String, Object>)in.readObject();
         setComponentInstanceMap();
-        for (Map.Entry<String, BeanInstanceBag<?>> beanBagEntry : map.entrySet())
+        for (Map.Entry<String, Object> beanBagEntry : map.entrySet())
         {
             String id = beanBagEntry.getKey();
             if (id != null)
@@ -60,7 +200,16 @@ public abstract class PassivatingContext extends AbstractContext implements Exte
                 Contextual<?> contextual = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
                 if (contextual != null)
                 {
-                    componentInstanceMap.put(contextual, beanBagEntry.getValue());
+                    Object value = beanBagEntry.getValue();
+                    if (value instanceof byte[])
+                    {
+                        // only gets deserialized once it gets used
+                        serializedInstances.put(id, (byte[]) value);
+                    }
+                    else
+                    {
+                        componentInstanceMap.put(contextual, (BeanInstanceBag<?>) value);
+                    }
                 }
             }
         }
@@ -70,21 +219,111 @@ public abstract class PassivatingContext extends AbstractContext implements Exte
     public void writeExternal(ObjectOutput out) throws IOException
     {
         out.writeObject(scopeType);
-        Map<String, BeanInstanceBag<?>> map = new HashMap<>(componentInstanceMap.size());
 
-        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
+        synchronized (serializedInstances)
+        {
+            Map<String, Object> map = new HashMap<>(componentInstanceMap.size() + serializedInstances.size());
+
+            for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
+            {
+                Contextual<?> contextual = beanBagEntry.getKey();
+
+                String id = WebBeansUtil.getPassivationId(contextual);
+                if (id == null)
+                {
+                    throw new NotSerializableException("cannot serialize " + contextual.toString());
+                }
+                map.put(id, beanBagEntry.getValue());
+            }
+
+            // unused instances don't need to get serialized again
+            map.putAll(serializedInstances);
+
+            out.writeObject(map);
+        }
+    }
+
+    private void restore(Contextual<?> contextual)
+    {
+        if (serializedInstances.isEmpty())
+        {
+            return;
+        }
+
+        String id = WebBeansUtil.getPassivationId(contextual);
+        if (id == null)
+        {
+            return;
+        }
+
+        synchronized (serializedInstances)
+        {
+            byte[] serialized = serializedInstances.get(id);
+            if (serialized != null)
+            {
+                // first make it available, a concurrent lookup only checks serializedInstances afterwards
+                componentInstanceMap.put(contextual, deserialize(serialized));
+                serializedInstances.remove(id);
+            }
+        }
+    }
+
+    private void restoreAll()
+    {
+        if (serializedInstances.isEmpty())
         {
-            Contextual<?> contextual = beanBagEntry.getKey();
+            return;
+        }
 
-            String id = WebBeansUtil.getPassivationId(contextual);
-            if (id == null)
+        BeanManagerImpl beanManager = WebBeansContext.currentInstance().getBeanManagerImpl();
+        synchronized (serializedInstances)
+        {
+            for (Map.Entry<String, byte[]> serializedEntry : serializedInstances.entrySet())
             {
-                throw new NotSerializableException("cannot serialize " + contextual.toString());
+                Contextual<?> contextual = beanManager.getPassivationCapableBean(serializedEntry.getKey());
+                if (contextual == null)
+                {
+                    continue;
+                }
+                try
+                {
+                    componentInstanceMap.put(contextual, deserialize(serializedEntry.getValue()));
+                }
+                catch (WebBeansException e)
+                {
+                    // don't prevent the destruction of the other instances
+                    logger.log(Level.WARNING, "Cannot restore the contextual instance of " + contextual, e);
+                }
             }
-            map.put(id, beanBagEntry.getValue());
+            serializedInstances.clear();
         }
+    }
 
-        out.writeObject(map);
+    private byte[] serialize(BeanInstanceBag<?> bag)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(bag);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.FINE, "Keeping the contextual instance as it cannot be serialized: " + bag, e);
+            return null;
+        }
+        return bytes.toByteArray();
     }
 
+    private BeanInstanceBag<?> deserialize(byte[] serialized)
+    {
+        try (ObjectInputStream in = new OwbCustomObjectInputStream(new ByteArrayInputStream(serialized),
+                                                                   WebBeansUtil.getCurrentClassLoader()))
+        {
+            return (BeanInstanceBag<?>) in.readObject();
+        }
+        catch (IOException | ClassNotFoundException e)
+        {
+            throw new WebBeansException("Cannot deserialize the contextual instance", e);
+        }
+    }
 }
@@ -18,8 +18,6 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.HashMap;
-
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Contextual;
 
@@ -55,7 +53,19 @@ public class RequestContext extends AbstractContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new HashMap<>();
+        componentInstanceMap = new ContextualInstanceTable();
+    }
+
+    /**
+     * Prepares a destroyed RequestContext to get re-used for another request.
+     * @see RequestContextPool
+     */
+    public void reset()
+    {
+        componentInstanceMap.clear();
+        propagatedSessionContext = null;
+        httpSession = null;
+        active = false;
     }
 
     /**
@@ -101,6 +111,6 @@ public class RequestContext extends AbstractContext
     public void destroy(Contextual<?> contextual)
     {
         super.destroy(contextual);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.clearThreadLocals();
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free pool of destroyed {@link RequestContext}s so a new request can re-use
+ * the context and its instance table instead of allocating new ones.
+ *
+ * The pool is striped by thread: each thread first looks at the slot derived from its id,
+ * then at a few neighbours. If all of them are empty (resp. taken) a new context gets created
+ * (resp. the returned context gets dropped), so the pool never blocks and never grows.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#REQUEST_CONTEXT_POOL_SIZE
+ */
+public class RequestContextPool<T extends RequestContext>
+{
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<T> contexts;
+    private final int mask;
+
+    /**
+     * @param size the number of pooled contexts, gets rounded up to the next power of two
+     */
+    public RequestContextPool(int size)
+    {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        contexts = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * @return a reset RequestContext or {@code null} if none is available
+     */
+    public T acquire()
+    {
+        int stripe = stripe();
+        for (int i = 0; i < PROBES; i++)
+        {
+            int index = (stripe + i) & mask;
+            if (contexts.get(index) != null)
+            {
+                T context = contexts.getAndSet(index, null);
+                if (context != null)
+                {
+                    return context;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resets the given destroyed context and keeps it for re-use if there is a free slot.
+     */
+    public void release(T context)
+    {
+        context.reset();
+
+        int stripe = stripe();
+        for (int i = 0; i < PROBES; i++)
+        {
+            int index = (stripe + i) & mask;
+            if (contexts.get(index) == null && contexts.compareAndSet(index, null, context))
+            {
+                return;
+            }
+        }
+    }
+
+    private static int stripe()
+    {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+}
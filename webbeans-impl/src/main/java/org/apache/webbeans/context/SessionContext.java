@@ -18,12 +18,24 @@
  */
 package org.apache.webbeans.context;
 
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.io.NotSerializableException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
 
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.conversation.ConversationStorageBean;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.util.WebBeansUtil;
 
 /**
  * Session context implementation.
@@ -32,6 +44,26 @@ public class SessionContext extends PassivatingContext
 {
     private static final long serialVersionUID = 2L;
 
+    /**
+     * Number of requests which currently use this context, only counted if the compact session storage is enabled.
+     * Guarded by the requestLock.
+     */
+    private transient int activeRequests;
+
+    private final transient Object requestLock = new Object();
+
+    /**
+     * Whether the used contextual instances get tracked.
+     * The instances are then stored outside of this context and don't get written with it.
+     */
+    private transient volatile boolean dirtyTracking;
+
+    /**The Contextuals which got used or destroyed since the last {@link #drainDirtyInstances()}*/
+    private final transient Set<Contextual<?>> dirtyInstances = ConcurrentHashMap.newKeySet();
+
+    /**The Contextuals whose instances cannot be stored separately and still get written with this context*/
+    private final transient Set<Contextual<?>> attachedInstances = ConcurrentHashMap.newKeySet();
+
     public SessionContext()
     {
         super(SessionScoped.class);
@@ -40,13 +72,159 @@ public class SessionContext extends PassivatingContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
+        componentInstanceMap = new ConcurrentContextualInstanceTable();
+    }
+
+    @Override
+    public <T> T get(Contextual<T> component)
+    {
+        T instance = super.get(component);
+        if (instance != null && dirtyTracking)
+        {
+            dirtyInstances.add(component);
+        }
+        return instance;
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        if (dirtyTracking)
+        {
+            dirtyInstances.add(contextual);
+        }
+        return super.getInstance(contextual, creationalContext);
     }
 
     @Override
     public void destroy(Contextual<?> contextual)
     {
         super.destroy(contextual);
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        if (dirtyTracking)
+        {
+            dirtyInstances.add(contextual);
+        }
+        SessionScopedBeanInterceptorHandler.clearThreadLocals();
+    }
+
+    public boolean isDirtyTracking()
+    {
+        return dirtyTracking;
+    }
+
+    /**
+     * Starts to track the used contextual instances.
+     * From now on the contextual instances don't get written with this context anymore,
+     * the caller is responsible to store the {@link #drainDirtyInstances() dirty} ones.
+     */
+    public void enableDirtyTracking()
+    {
+        // the existing instances didn't get stored separately yet
+        dirtyInstances.addAll(componentInstanceMap.keySet());
+        dirtyTracking = true;
+    }
+
+    /**
+     * @return all Contextuals which got used or destroyed since the last invocation
+     */
+    public Set<Contextual<?>> drainDirtyInstances()
+    {
+        if (dirtyInstances.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        Set<Contextual<?>> drained = new HashSet<>(dirtyInstances);
+        dirtyInstances.removeAll(drained);
+        return drained;
+    }
+
+    /**
+     * @return the serialized contextual instance which gets stored outside of this context or {@code null} if there
+     *         is none. An instance which cannot be serialized on its own keeps getting written with this context.
+     */
+    public byte[] detachInstance(Contextual<?> contextual)
+    {
+        byte[] serialized = WebBeansUtil.getPassivationId(contextual) != null ? getSerializedInstance(contextual) : null;
+        BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+        if (serialized == null && bag != null && bag.getBeanInstance() != null)
+        {
+            attachedInstances.add(contextual);
+        }
+        else
+        {
+            attachedInstances.remove(contextual);
+        }
+        return serialized;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        if (dirtyTracking)
+        {
+            // all other instances got stored separately
+            out.writeObject(scopeType);
+            Map<String, Object> map = new HashMap<>();
+            for (Contextual<?> contextual : attachedInstances)
+            {
+                BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+                if (bag == null)
+                {
+                    continue;
+                }
+
+                String id = WebBeansUtil.getPassivationId(contextual);
+                if (id == null)
+                {
+                    throw new NotSerializableException("cannot serialize " + contextual.toString());
+                }
+                map.put(id, bag);
+            }
+            out.writeObject(map);
+            return;
+        }
+        super.writeExternal(out);
+    }
+
+    /**
+     * The ConversationManager keeps working with the live conversations, e.g. for the background expiry.
+     */
+    @Override
+    protected boolean isCompactable(String passivationId)
+    {
+        return !ConversationStorageBean.OWB_INTERNAL_CONVERSATION_STORAGE_BEAN_PASSIVATION_ID.equals(passivationId);
+    }
+
+    /**
+     * Marks the start of a request which uses this session.
+     * Waits if the context gets compacted at the moment.
+     */
+    public void startRequest()
+    {
+        synchronized (requestLock)
+        {
+            activeRequests++;
+        }
+    }
+
+    /**
+     * Marks the end of a request which used this session.
+     * @param compact whether the contextual instances should get {@link #compact() compacted} if no other request
+     *                uses this session anymore
+     */
+    public void endRequest(boolean compact)
+    {
+        synchronized (requestLock)
+        {
+            if (activeRequests > 0)
+            {
+                activeRequests--;
+            }
+            if (compact && activeRequests == 0 && isActive())
+            {
+                compact();
+            }
+        }
     }
 }
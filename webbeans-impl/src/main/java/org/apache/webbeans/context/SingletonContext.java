@@ -18,8 +18,6 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 import javax.inject.Singleton;
 
 /**
@@ -38,6 +36,6 @@ public class SingletonContext extends AbstractContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
+        componentInstanceMap = new ConcurrentContextualInstanceTable();
     }
 }
@@ -53,6 +53,6 @@ public class OwbRequestContextController implements RequestContextController
     public void deactivate() throws ContextNotActiveException
     {
         contextsService.endContext(RequestScoped.class, null);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.clearThreadLocals();
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.conversation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.BusyConversationException;
+
+import org.apache.webbeans.context.ConversationContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Hashed timer wheel which destroys the timed out long running conversations in the background.
+ *
+ * Each conversation has a single entry in the bucket of the tick in which it would time out.
+ * Once this tick got reached the conversation either gets destroyed or, if it got used in the meantime,
+ * moved to the bucket of its new timeout. Thus every tick only touches the conversations which might have timed out.
+ * Conversations get looked at at least once per round of the wheel as their timeout might have been changed.
+ */
+class ConversationExpiry implements Runnable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ConversationExpiry.class);
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final ConversationManager conversationManager;
+    private final long tickMillis;
+    private final Queue<Entry>[] wheel;
+    private final ClassLoader classLoader;
+    private final ScheduledExecutorService executor;
+
+    /**The last tick which got processed, only used by the expiry thread*/
+    private long processedTick;
+
+    @SuppressWarnings("unchecked")
+    ConversationExpiry(ConversationManager conversationManager, long tickMillis)
+    {
+        this.conversationManager = conversationManager;
+        this.tickMillis = tickMillis;
+        classLoader = WebBeansUtil.getCurrentClassLoader();
+        processedTick = System.currentTimeMillis() / tickMillis;
+
+        wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++)
+        {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "OpenWebBeans conversation expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds the given long running conversation to the bucket of the tick in which it would time out.
+     */
+    void schedule(ConversationStorage storage, ConversationContext conversationContext)
+    {
+        ConversationImpl conversation = conversationContext.getConversation();
+        long deadline;
+        try
+        {
+            long timeout = conversation.getTimeout();
+            deadline = timeout > 0L
+                ? conversation.getLastAccessTime() + timeout
+                : Long.MAX_VALUE; // never times out, just look again later
+        }
+        catch (BusyConversationException e)
+        {
+            // in use, so surely not timed out now
+            deadline = 0L;
+        }
+
+        // never schedule it for a tick which might have been processed already, but look at it at least
+        // once per round of the wheel to notice a shortened timeout
+        long currentTick = System.currentTimeMillis() / tickMillis;
+        long deadlineTick = Math.min(Math.max(deadline / tickMillis, currentTick + 1), currentTick + WHEEL_SIZE - 1);
+        wheel[(int) (deadlineTick % WHEEL_SIZE)].add(new Entry(storage, conversationContext, deadlineTick));
+    }
+
+    @Override
+    public void run()
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader oldClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try
+        {
+            long currentTick = System.currentTimeMillis() / tickMillis;
+            while (processedTick < currentTick)
+            {
+                processedTick++;
+                processBucket(wheel[(int) (processedTick % WHEEL_SIZE)]);
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // don't let the executor cancel the expiry
+            logger.log(Level.WARNING, "Error while destroying timed out conversations", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldClassLoader);
+        }
+    }
+
+    void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private void processBucket(Queue<Entry> bucket)
+    {
+        // entries which get added meanwhile belong to a later round
+        for (int remaining = bucket.size(); remaining > 0; remaining--)
+        {
+            Entry entry = bucket.poll();
+            if (entry == null)
+            {
+                return;
+            }
+
+            if (entry.deadlineTick > processedTick)
+            {
+                bucket.add(entry);
+                continue;
+            }
+
+            try
+            {
+                if (!conversationManager.destroyIfTimedOut(entry.storage, entry.conversationContext))
+                {
+                    schedule(entry.storage, entry.conversationContext);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                logger.log(Level.WARNING, "Error while destroying the timed out " + entry.conversationContext.getConversation(), e);
+            }
+        }
+    }
+
+    private static final class Entry
+    {
+        private final ConversationStorage storage;
+        private final ConversationContext conversationContext;
+        private final long deadlineTick;
+
+        private Entry(ConversationStorage storage, ConversationContext conversationContext, long deadlineTick)
+        {
+            this.storage = storage;
+            this.conversationContext = conversationContext;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
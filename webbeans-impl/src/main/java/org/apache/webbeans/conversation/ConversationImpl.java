@@ -154,22 +154,20 @@ public class ConversationImpl implements Conversation, Serializable
     public void end()
     {
         checkThreadUsage();
-        if (!isTransient)
-        {
-            iDontUseItAnymore();
-            id = null;
-            isTransient = true;
-        }
-        else
+        if (isTransient)
         {
             logger.log(Level.WARNING, OWBLogConst.WARN_0004, id);
             throw new IllegalStateException(toString() + " has already ended");
         }
 
-        // now store this conversation in the SessionContext
+        // now remove this conversation from the SessionContext, the storage still needs the id
         ConversationManager conversationManager = webBeansContext.getConversationManager();
         ConversationContext conversationContext = (ConversationContext) webBeansContext.getContextsService().getCurrentContext(ConversationScoped.class);
         conversationManager.removeConversationFromStorage(conversationContext);
+
+        iDontUseItAnymore();
+        id = null;
+        isTransient = true;
     }
 
     public int iUseIt()
@@ -187,6 +185,25 @@ public class ConversationImpl implements Conversation, Serializable
         }
     }
 
+    /**
+     * Marks this conversation as used by the current thread, but only if no thread uses it yet.
+     * In contrast to {@link #iUseIt()} this doesn't count as access.
+     * @return {@code true} if the current thread uses this conversation exclusively now
+     */
+    public boolean useExclusively()
+    {
+        long thread = Thread.currentThread().getId();
+        synchronized (this)
+        {
+            if (!threadsUsingIt.isEmpty())
+            {
+                return false;
+            }
+            threadsUsingIt.add(thread);
+            return true;
+        }
+    }
+
     public void iDontUseItAnymore()
     {
         long thread = Thread.currentThread().getId();
@@ -18,6 +18,9 @@
  */
 package org.apache.webbeans.conversation;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -42,6 +45,7 @@ import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.ConversationService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.Asserts;
 
 /**
@@ -60,6 +64,12 @@ public class ConversationManager
     private final WebBeansContext webBeansContext;
     private final Bean<Set<ConversationContext>> conversationStorageBean;
 
+    private final int maxConversationsPerSession;
+    private final int expiryInterval;
+
+    /**Background expiry of the conversations, lazily created, {@code null} if it is disabled*/
+    private volatile ConversationExpiry expiry;
+
     /**
      * Creates new conversation manager
      */
@@ -76,6 +86,9 @@ public class ConversationManager
         // this will return the internally wrapped ThirdPartyBean.
         conversationStorageBean = (Bean<Set<ConversationContext>>)
                 bm.resolve(bm.getBeans(ConversationStorageBean.OWB_INTERNAL_CONVERSATION_STORAGE_BEAN_PASSIVATION_ID));
+
+        maxConversationsPerSession = webBeansContext.getOpenWebBeansConfiguration().getMaxConversationsPerSession();
+        expiryInterval = webBeansContext.getOpenWebBeansConfiguration().getConversationExpiryInterval();
     }
 
 
@@ -94,28 +107,29 @@ public class ConversationManager
         String conversationId = conversationService.getConversationId();
         if (conversationId != null && conversationId.length() > 0)
         {
-            if (conversationContexts != null)
+            ConversationContext conversationContext = findConversation(conversationContexts, conversationId);
+            if (conversationContext != null)
             {
-                for (ConversationContext conversationContext : conversationContexts)
+                if (conversationContext.getConversation().iUseIt() > 1)
+                {
+                    problem =  new BusyConversationException("Propogated conversation with cid=" +
+                            conversationContext.getConversation().getId() +
+                            " is used by other request. It creates a new transient conversation");
+                    conversationContext.getConversation().setProblemDuringCreation(problem);
+
+                    conversationContext.setActive(true);
+                    return conversationContext;
+                }
+
+                // the background expiry might have destroyed it in the meantime
+                if (conversationContexts.contains(conversationContext))
                 {
-                    if (conversationId.equals(conversationContext.getConversation().getId()))
-                    {
-                        if (conversationContext.getConversation().iUseIt() > 1)
-                        {
-                            problem =  new BusyConversationException("Propogated conversation with cid=" +
-                                    conversationContext.getConversation().getId() +
-                                    " is used by other request. It creates a new transient conversation");
-                            conversationContext.getConversation().setProblemDuringCreation(problem);
-                        }
-                        else
-                        {
-                            conversationContext.getConversation().updateLastAccessTime();
-                        }
-
-                        conversationContext.setActive(true);
-                        return conversationContext;
-                    }
+                    conversationContext.getConversation().updateLastAccessTime();
+
+                    conversationContext.setActive(true);
+                    return conversationContext;
                 }
+                conversationContext.getConversation().iDontUseItAnymore();
             }
 
             problem = new NonexistentConversationException("Propogated conversation with cid=" + conversationId +
@@ -123,6 +137,11 @@ public class ConversationManager
         }
 
         ConversationContext conversationContext = new ConversationContext(webBeansContext);
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            metrics.conversationStarted();
+        }
         conversationContext.setActive(true);
         conversationContext.getConversation().setProblemDuringCreation(problem);
 
@@ -140,16 +159,60 @@ public class ConversationManager
         Set<ConversationContext> sessionConversations = getSessionConversations(sessionContext, true);
 
         // check whether this conversation already exists
-        for (ConversationContext sessionConversation : sessionConversations)
+        if (findConversation(sessionConversations, conversationId) != null)
         {
-            if (conversationId.equals(sessionConversation.getConversation().getId()))
-            {
-                throw new IllegalArgumentException("Conversation with id=" + conversationId + " already exists!");
-            }
+            throw new IllegalArgumentException("Conversation with id=" + conversationId + " already exists!");
         }
 
         // if not, then simply add this conversation
         sessionConversations.add(conversationContext);
+
+        if (expiryInterval > 0 && sessionConversations instanceof ConversationStorage)
+        {
+            getExpiry().schedule((ConversationStorage) sessionConversations, conversationContext);
+        }
+
+        if (maxConversationsPerSession > 0 && sessionConversations.size() > maxConversationsPerSession)
+        {
+            destroyLeastRecentlyUsed(sessionConversations, conversationContext);
+        }
+    }
+
+    /**
+     * Destroys the least recently used conversations of the session until there are
+     * not more than the configured maximum. Conversations which are in use are skipped.
+     */
+    private void destroyLeastRecentlyUsed(Set<ConversationContext> sessionConversations, ConversationContext newConversationContext)
+    {
+        List<ConversationContext> candidates = new ArrayList<>(sessionConversations);
+        candidates.remove(newConversationContext);
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.getConversation().getLastAccessTime()));
+
+        for (ConversationContext candidate : candidates)
+        {
+            if (sessionConversations.size() <= maxConversationsPerSession)
+            {
+                return;
+            }
+
+            ConversationImpl conversation = candidate.getConversation();
+            if (!conversation.useExclusively())
+            {
+                continue;
+            }
+            try
+            {
+                if (sessionConversations.remove(candidate))
+                {
+                    logger.log(Level.FINE, "Destroying the least recently used {0}", conversation);
+                    destroyConversationContext(candidate);
+                }
+            }
+            finally
+            {
+                conversation.iDontUseItAnymore();
+            }
+        }
     }
 
     /**
@@ -202,6 +265,61 @@ public class ConversationManager
         return false;
     }
 
+    /**
+     * Destroys the given long running conversation if it timed out and is not in use.
+     * @return {@code false} if the conversation still exists
+     */
+    boolean destroyIfTimedOut(ConversationStorage storage, ConversationContext conversationContext)
+    {
+        ConversationImpl conversation = conversationContext.getConversation();
+        if (!conversation.useExclusively())
+        {
+            return false;
+        }
+        try
+        {
+            if (!storage.contains(conversationContext))
+            {
+                // got ended or destroyed with the session
+                return true;
+            }
+            if (!conversationTimedOut(conversation))
+            {
+                return false;
+            }
+
+            storage.remove(conversationContext);
+            destroyConversationContext(conversationContext);
+            return true;
+        }
+        finally
+        {
+            conversation.iDontUseItAnymore();
+        }
+    }
+
+    /**
+     * @return {@code true} if timed out conversations get destroyed by a background thread
+     *         instead of checking them at the end of each request
+     */
+    public boolean hasBackgroundExpiry()
+    {
+        return expiryInterval > 0;
+    }
+
+    /**
+     * Stops the background expiry. This method should only get called at container shutdown.
+     */
+    public void shutdown()
+    {
+        ConversationExpiry currentExpiry = expiry;
+        if (currentExpiry != null)
+        {
+            currentExpiry.shutdown();
+            expiry = null;
+        }
+    }
+
     /**
      * Destroy the given ConversationContext and fire the proper
      * &#064;Destroyed event with the correct payload.
@@ -213,6 +331,12 @@ public class ConversationManager
 
         ctx.destroy();
 
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            metrics.conversationEnded();
+        }
+
         webBeansContext.getBeanManagerImpl().fireEvent(
             getLifecycleEventPayload(ctx), DestroyedLiteral.INSTANCE_CONVERSATION_SCOPED);
     }
@@ -265,7 +389,76 @@ public class ConversationManager
             }
         }
 
+        if (expiryInterval > 0 && conversationContexts instanceof ConversationStorage)
+        {
+            scheduleExpiry((ConversationStorage) conversationContexts);
+        }
+
         return conversationContexts;
     }
 
+    private ConversationContext findConversation(Set<ConversationContext> conversationContexts, String conversationId)
+    {
+        if (conversationContexts == null)
+        {
+            return null;
+        }
+        if (conversationContexts instanceof ConversationStorage)
+        {
+            return ((ConversationStorage) conversationContexts).get(conversationId);
+        }
+
+        // sessions which got serialized by an older version
+        for (ConversationContext conversationContext : conversationContexts)
+        {
+            if (conversationId.equals(conversationContext.getConversation().getId()))
+            {
+                return conversationContext;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands the conversations of a new or deserialized session over to the background expiry.
+     */
+    private void scheduleExpiry(ConversationStorage storage)
+    {
+        if (storage.isExpiryScheduled())
+        {
+            return;
+        }
+
+        synchronized (storage)
+        {
+            if (!storage.isExpiryScheduled())
+            {
+                ConversationExpiry conversationExpiry = getExpiry();
+                for (ConversationContext conversationContext : storage)
+                {
+                    conversationExpiry.schedule(storage, conversationContext);
+                }
+                storage.setExpiryScheduled();
+            }
+        }
+    }
+
+    private ConversationExpiry getExpiry()
+    {
+        ConversationExpiry currentExpiry = expiry;
+        if (currentExpiry == null)
+        {
+            synchronized (this)
+            {
+                currentExpiry = expiry;
+                if (currentExpiry == null)
+                {
+                    currentExpiry = new ConversationExpiry(this, expiryInterval);
+                    expiry = currentExpiry;
+                }
+            }
+        }
+        return currentExpiry;
+    }
+
 }
@@ -29,7 +29,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.ConversationContext;
@@ -56,7 +55,7 @@ public class ConversationStorageBean implements Bean<Set<ConversationContext>>,
     @Override
     public Set<ConversationContext> create(CreationalContext<Set<ConversationContext>> creationalContext)
     {
-        return Collections.newSetFromMap(new ConcurrentHashMap<ConversationContext, Boolean>());
+        return new ConversationStorage();
     }
 
     @Override
@@ -72,6 +71,9 @@ public class ConversationStorageBean implements Bean<Set<ConversationContext>>,
         {
             conversationManager.destroyConversationContext(conversationContext);
         }
+
+        // lets the background expiry drop them
+        instance.clear();
     }
 
     @Override
@@ -18,21 +18,49 @@
  */
 package org.apache.webbeans.corespi;
 
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.spi.SingletonService;
 import org.apache.webbeans.util.Asserts;
 
+/**
+ * Holds one WebBeansContext per ClassLoader.
+ *
+ * The lookup of an existing WebBeansContext doesn't take any lock.
+ * Only the creation and the removal of a WebBeansContext are synchronized,
+ * so a WebBeansContext still gets created only once per ClassLoader.
+ * The ClassLoaders are weakly referenced like in a WeakHashMap.
+ * The last found WebBeansContext gets cached, so the usual lookup with always the same
+ * ClassLoader doesn't even need to query the map.
+ */
 public class DefaultSingletonService implements SingletonService<WebBeansContext>
 {
     /**
      * Keys --> ClassLoaders
      * Values --> WebBeansContext
      */
-    private final Map<ClassLoader, WebBeansContext> singletonMap = new WeakHashMap<>();
-    
+    private final ConcurrentMap<Object, WebBeansContext> singletonMap = new ConcurrentHashMap<>();
+
+    /**
+     * Gets notified about garbage collected ClassLoaders.
+     */
+    private final ReferenceQueue<ClassLoader> staleKeys = new ReferenceQueue<>();
+
+    /**
+     * Used for the creation and removal of WebBeansContexts.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The ClassLoader and WebBeansContext of the last lookup, {@code null} if unknown.
+     */
+    private volatile LastHit lastHit;
+
     /**
      * Gets singleton instance for deployment.
      * @return singleton instance for this deployment
@@ -42,31 +70,52 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     {
         assertClassLoaderKey(key);
         ClassLoader classLoader = (ClassLoader) key;
-        synchronized (singletonMap)
+
+        LastHit hit = lastHit;
+        if (hit != null && hit.get() == classLoader)
         {
-            //util.Track.sync(key);
-            
-            WebBeansContext webBeansContext = singletonMap.get(classLoader);
-            //util.Track.get(key);
+            return hit.webBeansContext;
+        }
 
+        LookupKey lookupKey = new LookupKey(classLoader);
+        WebBeansContext webBeansContext = singletonMap.get(lookupKey);
+        if (webBeansContext != null)
+        {
+            lastHit = new LastHit(classLoader, webBeansContext);
+            if (singletonMap.get(lookupKey) != webBeansContext)
+            {
+                // got cleared concurrently, don't keep it as last hit
+                lastHit = null;
+            }
+            return webBeansContext;
+        }
+
+        synchronized (lock)
+        {
+            webBeansContext = singletonMap.get(lookupKey);
             if (webBeansContext == null)
             {
+                expungeStaleKeys();
                 webBeansContext = new WebBeansContext();
-                singletonMap.put(classLoader, webBeansContext);
+                singletonMap.put(new WeakKey(classLoader, staleKeys), webBeansContext);
             }
 
+            lastHit = new LastHit(classLoader, webBeansContext);
             return webBeansContext;
-
         }
     }
 
     public void register(ClassLoader key, WebBeansContext context)
     {
-        if (singletonMap.containsKey(key))
+        synchronized (lock)
         {
-            throw new IllegalArgumentException(key + " is already registered");
+            if (singletonMap.containsKey(new LookupKey(key)))
+            {
+                throw new IllegalArgumentException(key + " is already registered");
+            }
+            expungeStaleKeys();
+            singletonMap.put(new WeakKey(key, staleKeys), context);
         }
-        singletonMap.putIfAbsent(key, context);
     }
 
     /**
@@ -76,9 +125,11 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     public void clearInstances(ClassLoader classLoader)
     {
         Asserts.assertNotNull(classLoader, "classloader");
-        synchronized (singletonMap)
+        synchronized (lock)
         {
-            singletonMap.remove(classLoader);
+            singletonMap.remove(new LookupKey(classLoader));
+            lastHit = null;
+            expungeStaleKeys();
         }
     }
 
@@ -106,6 +157,100 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
 
     public boolean exists(final Object key)
     {
-        return ClassLoader.class.isInstance(key) && singletonMap.containsKey(key);
+        return ClassLoader.class.isInstance(key) && singletonMap.containsKey(new LookupKey((ClassLoader) key));
+    }
+
+    private void expungeStaleKeys()
+    {
+        Reference<? extends ClassLoader> staleKey;
+        while ((staleKey = staleKeys.poll()) != null)
+        {
+            singletonMap.remove(staleKey);
+        }
+    }
+
+    /**
+     * Result of the last lookup, the ClassLoader is weakly referenced like the keys of the map.
+     */
+    private static final class LastHit extends WeakReference<ClassLoader>
+    {
+        private final WebBeansContext webBeansContext;
+
+        private LastHit(ClassLoader classLoader, WebBeansContext webBeansContext)
+        {
+            super(classLoader);
+            this.webBeansContext = webBeansContext;
+        }
+    }
+
+    /**
+     * Key stored in the map, compares the ClassLoaders by identity.
+     */
+    private static final class WeakKey extends WeakReference<ClassLoader>
+    {
+        private final int hash;
+
+        private WeakKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue)
+        {
+            super(classLoader, queue);
+            hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (o == this)
+            {
+                return true;
+            }
+            if (o instanceof LookupKey)
+            {
+                ClassLoader classLoader = get();
+                return classLoader != null && classLoader == ((LookupKey) o).classLoader;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    /**
+     * Short living strong key to look up a ClassLoader without creating a WeakReference.
+     */
+    private static final class LookupKey
+    {
+        private final ClassLoader classLoader;
+        private final int hash;
+
+        private LookupKey(ClassLoader classLoader)
+        {
+            this.classLoader = classLoader;
+            hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (o == this)
+            {
+                return true;
+            }
+            if (o instanceof WeakKey)
+            {
+                ClassLoader other = ((WeakKey) o).get();
+                return other != null && other == classLoader;
+            }
+            return o instanceof LookupKey && ((LookupKey) o).classLoader == classLoader;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
     }
 }
@@ -47,7 +47,12 @@ import javax.interceptor.Interceptor;
 import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -93,6 +98,26 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
      */
     private Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda;
 
+    /**
+     * Only set if {@link OpenWebBeansConfiguration#SCAN_INDEX_FILE} is configured.
+     */
+    private ScanIndex scanIndex;
+
+    /**
+     * Archives which didn't change since the last start and thus don't get scanned.
+     */
+    private final List<ScanIndex.IndexedArchive> indexedArchives = new ArrayList<>();
+
+    /**
+     * The scan exclusions and filters which apply to all archives, part of the {@link ScanIndex} key.
+     */
+    private String scanIndexFilters;
+
+    /**
+     * Whether a subclass still overrides {@link #isBeanAnnotation(AnnotationFinder.AnnotationInfo)}, lazily initialized.
+     */
+    private Boolean annotationInfoHookOverridden;
+
     protected String[] scanningExcludes;
 
     protected ClassLoader loader;
@@ -127,6 +152,7 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                     .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
             extensionJars.clear(); // no more needed
         }
+        beanDeploymentUrls = filterIndexedArchives(beanDeploymentUrls, userFilter);
         archive = new CdiArchive(
                 beanArchiveService, WebBeansUtil.getCurrentClassLoader(),
                 beanDeploymentUrls, userFilter, getAdditionalArchive());
@@ -135,6 +161,96 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         return finder;
     }
 
+    /**
+     * Removes all archives which are still up to date in the {@link ScanIndex} from the given urls.
+     * @return the urls which need to get scanned
+     */
+    private Map<String, URL> filterIndexedArchives(Map<String, URL> beanDeploymentUrls, Filter userFilter)
+    {
+        String indexFile = webBeansContext().getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.SCAN_INDEX_FILE);
+        if (indexFile == null || indexFile.trim().isEmpty())
+        {
+            return beanDeploymentUrls;
+        }
+
+        scanIndex = ScanIndex.read(Paths.get(indexFile.trim()));
+        scanIndexFilters = "scanningExcludes=" + Arrays.toString(scanningExcludes) +
+                ";userFilter=" + (userFilter != null ? userFilter.getClass().getName() : "");
+
+        // the index only stores annotation names, so customizations based on the ClassInfo need a real scan
+        boolean classInfoHooks = overridesClassInfoHooks();
+
+        Map<String, URL> toScan = new HashMap<>();
+        for (Map.Entry<String, URL> deploymentUrl : beanDeploymentUrls.entrySet())
+        {
+            BeanArchiveService.BeanArchiveInformation beanArchiveInfo =
+                    beanArchiveService.getBeanArchiveInformation(deploymentUrl.getValue());
+            BeanDiscoveryMode mode = beanArchiveInfo.getBeanDiscoveryMode();
+            ScanIndex.IndexedArchive indexed = classInfoHooks && BeanDiscoveryMode.ANNOTATED == mode ?
+                    null : scanIndex.lookup(deploymentUrl.getValue(), mode, getScanFilters(beanArchiveInfo));
+            if (indexed == null)
+            {
+                toScan.put(deploymentUrl.getKey(), deploymentUrl.getValue());
+            }
+            else
+            {
+                indexedArchives.add(indexed);
+            }
+        }
+
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine("Reusing " + indexedArchives.size() + " bean archives from the scan index " + indexFile +
+                    ", scanning " + toScan.size());
+        }
+        return toScan;
+    }
+
+    /**
+     * @return all exclusions and filters which influence the classes found in the given archive
+     */
+    private String getScanFilters(BeanArchiveService.BeanArchiveInformation beanArchiveInfo)
+    {
+        return scanIndexFilters +
+                ";excludedClasses=" + beanArchiveInfo.getExcludedClasses() +
+                ";excludedPackages=" + beanArchiveInfo.getExcludedPackages();
+    }
+
+    /**
+     * @return whether a subclass still customizes the 'annotated' check via
+     *         {@link #isBeanAnnotatedClass(AnnotationFinder.ClassInfo)} or {@link #isBeanAnnotation(AnnotationFinder.AnnotationInfo)}
+     */
+    private boolean overridesClassInfoHooks()
+    {
+        return overrides("isBeanAnnotatedClass", AnnotationFinder.ClassInfo.class) || overridesAnnotationInfoHook();
+    }
+
+    private boolean overridesAnnotationInfoHook()
+    {
+        if (annotationInfoHookOverridden == null)
+        {
+            annotationInfoHookOverridden = overrides("isBeanAnnotation", AnnotationFinder.AnnotationInfo.class);
+        }
+        return annotationInfoHookOverridden;
+    }
+
+    private boolean overrides(String methodName, Class<?> parameterType)
+    {
+        for (Class<?> type = getClass(); type != AbstractMetaDataDiscovery.class; type = type.getSuperclass())
+        {
+            try
+            {
+                type.getDeclaredMethod(methodName, parameterType);
+                return true;
+            }
+            catch (NoSuchMethodException e)
+            {
+                // not overridden on this level
+            }
+        }
+        return false;
+    }
+
     protected Archive getAdditionalArchive()
     {
         return null;
@@ -324,6 +440,9 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         finder = null;
         archive = null;
         loader = null;
+        scanIndex = null;
+        scanIndexFilters = null;
+        indexedArchives.clear();
     }
 
 
@@ -419,58 +538,123 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
             for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
             {
                 Set<Class<?>> classSet = new HashSet<>();
-                boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
+                BeanDiscoveryMode mode = foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
+                boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == mode;
+                List<ScanIndex.IndexedClass> indexedClasses = scanIndex != null ? new ArrayList<>() : null;
                 for (String className : foundClasses.getClassNames())
                 {
-                    try
+                    if (scanModeAnnotated)
                     {
-                        if (scanModeAnnotated)
+                        // in this case we need to find out whether we should keep this class in the Archive
+                        AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+                        if (indexedClasses != null)
                         {
-                            // in this case we need to find out whether we should keep this class in the Archive
-                            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
-                            if (classInfo == null || !isBeanAnnotatedClass(classInfo))
-                            {
-                                continue;
-                            }
+                            indexedClasses.add(new ScanIndex.IndexedClass(className, getAnnotationNames(classInfo)));
                         }
-
-                        Class<?> clazz = ClassUtil.getClassFromName(className, loader, dontSkipNCDFT);
-                        if (clazz != null)
+                        if (classInfo == null || !isBeanAnnotatedClass(classInfo))
                         {
-                            if (dontSkipNCDFT)
-                            {
-                                // try to provoke a NoClassDefFoundError exception which is thrown
-                                // if some dependencies of the class are missing
-                                clazz.getDeclaredFields();
-                            }
-
-                            // we can add this class cause it has been loaded completely
-                            classSet.add(clazz);
+                            continue;
                         }
                     }
-                    catch (NoClassDefFoundError e)
+                    else if (indexedClasses != null)
                     {
-                        if (isAnonymous(className))
-                        {
-                            if (logger.isLoggable(Level.FINE))
-                            {
-                                logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                            }
-                        }
-                        else if (logger.isLoggable(Level.WARNING))
-                        {
-                            logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                        }
+                        indexedClasses.add(new ScanIndex.IndexedClass(className, Collections.emptyList()));
                     }
+
+                    loadBeanClass(className, loader, dontSkipNCDFT, classSet);
                 }
 
                 beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), classSet);
+                if (indexedClasses != null)
+                {
+                    scanIndex.update(foundClasses.getUrl(), mode, getScanFilters(foundClasses.getBeanArchiveInfo()), indexedClasses);
+                }
+            }
+
+            for (ScanIndex.IndexedArchive indexedArchive : indexedArchives)
+            {
+                Set<Class<?>> classSet = new HashSet<>();
+                boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == indexedArchive.getMode();
+                for (ScanIndex.IndexedClass indexedClass : indexedArchive.getClasses())
+                {
+                    if (scanModeAnnotated && !isBeanAnnotatedClass(indexedClass.getClassName(), indexedClass.getAnnotations()))
+                    {
+                        continue;
+                    }
+                    loadBeanClass(indexedClass.getClassName(), loader, dontSkipNCDFT, classSet);
+                }
+
+                beanClassesPerBda.put(getBeanArchiveInformation(indexedArchive), classSet);
             }
 
+            if (scanIndex != null)
+            {
+                scanIndex.write();
+            }
         }
         return beanClassesPerBda;
     }
 
+    private void loadBeanClass(String className, ClassLoader loader, boolean dontSkipNCDFT, Set<Class<?>> classSet)
+    {
+        try
+        {
+            Class<?> clazz = ClassUtil.getClassFromName(className, loader, dontSkipNCDFT);
+            if (clazz != null)
+            {
+                if (dontSkipNCDFT)
+                {
+                    // try to provoke a NoClassDefFoundError exception which is thrown
+                    // if some dependencies of the class are missing
+                    clazz.getDeclaredFields();
+                }
+
+                // we can add this class cause it has been loaded completely
+                classSet.add(clazz);
+            }
+        }
+        catch (NoClassDefFoundError e)
+        {
+            if (isAnonymous(className))
+            {
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+                }
+            }
+            else if (logger.isLoggable(Level.WARNING))
+            {
+                logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+            }
+        }
+    }
+
+    private BeanArchiveService.BeanArchiveInformation getBeanArchiveInformation(ScanIndex.IndexedArchive indexedArchive)
+    {
+        try
+        {
+            return beanArchiveService.getBeanArchiveInformation(new URL(indexedArchive.getUrl()));
+        }
+        catch (MalformedURLException e)
+        {
+            throw new WebBeansDeploymentException(e);
+        }
+    }
+
+    private List<String> getAnnotationNames(AnnotationFinder.ClassInfo classInfo)
+    {
+        if (classInfo == null)
+        {
+            return Collections.emptyList();
+        }
+        List<String> annotationNames = new ArrayList<>();
+        for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+        {
+            annotationNames.add(annotationInfo.getName());
+        }
+        return annotationNames;
+    }
+
     private boolean isAnonymous(final String className)
     {
         final int start = className.lastIndexOf('$');
@@ -503,20 +687,52 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
      * This method is called for classes from bean archives with
      * bean-discovery-mode 'annotated'.
      *
-     * This method is intended to be overwritten in integration scenarios and e.g.
-     * allows to add other criterias for keeping the class.
+     * By default it delegates to {@link #isBeanAnnotatedClass(String, Collection)}.
+     * Overriding this method disables the {@link ScanIndex} for 'annotated' archives
+     * as it only stores the annotation names.
      *
      * @param classInfo
      * @return true if this class should be kept and further get picked up as CDI Bean
      */
     protected boolean isBeanAnnotatedClass(AnnotationFinder.ClassInfo classInfo)
+    {
+        if (overridesAnnotationInfoHook())
+        {
+            // backward compatibility for integrations which only customize the single annotation check
+            for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+            {
+                if (Interceptor.class.getName().equals(annotationInfo.getName()) ||
+                        Decorator.class.getName().equals(annotationInfo.getName()) ||
+                        isBeanAnnotation(annotationInfo))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return isBeanAnnotatedClass(classInfo.getName(), getAnnotationNames(classInfo));
+    }
+
+    /**
+     * This method is called for classes from bean archives with
+     * bean-discovery-mode 'annotated', no matter whether they got scanned
+     * or restored from the {@link ScanIndex}.
+     *
+     * This method is intended to be overwritten in integration scenarios and e.g.
+     * allows to add other criterias for keeping the class.
+     *
+     * @param className the name of the class
+     * @param annotationNames the names of the class level annotations
+     * @return true if this class should be kept and further get picked up as CDI Bean
+     */
+    protected boolean isBeanAnnotatedClass(String className, Collection<String> annotationNames)
     {
         // check whether this class has 'scope' annotations or a stereotype
-        for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+        for (String annotationName : annotationNames)
         {
-            if (Interceptor.class.getName().equals(annotationInfo.getName()) ||
-                    Decorator.class.getName().equals(annotationInfo.getName()) ||
-                    isBeanAnnotation(annotationInfo))
+            if (Interceptor.class.getName().equals(annotationName) ||
+                    Decorator.class.getName().equals(annotationName) ||
+                    isBeanAnnotation(annotationName))
             {
                 return true;
             }
@@ -526,8 +742,15 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
 
     protected boolean isBeanAnnotation(AnnotationFinder.AnnotationInfo annotationInfo)
     {
-        String annotationName = annotationInfo.getName();
+        return isBeanAnnotation(annotationInfo.getName());
+    }
 
+    /**
+     * @param annotationName the fully qualified name of the annotation
+     * @return true if the annotation is a scope or a stereotype
+     */
+    protected boolean isBeanAnnotation(String annotationName)
+    {
         // TODO add caches
 
         try
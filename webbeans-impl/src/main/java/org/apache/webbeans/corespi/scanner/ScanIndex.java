@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+
+/**
+ * Persistent index of the scanning result of bean archives.
+ *
+ * Each archive is keyed by its URL and a fingerprint (size + last modification) of the underlying
+ * file or directory. As long as the fingerprint, the bean discovery mode and the scan filters
+ * (exclusions) didn't change, the stored class names (and for 'annotated' archives the class level
+ * annotations) get reused instead of parsing the bytecode of the archive again.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SCAN_INDEX_FILE
+ */
+public class ScanIndex
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ScanIndex.class);
+
+    private static final int MAGIC = 0x0BE15CA1;
+    private static final int VERSION = 2;
+
+    private final Path file;
+
+    /**
+     * archives read from the file.
+     * key: URL#toExternalForm of the archive
+     */
+    private final Map<String, IndexedArchive> previous;
+
+    /**
+     * archives of the current deployment, this is what gets written.
+     */
+    private final Map<String, IndexedArchive> current = new HashMap<>();
+
+    private ScanIndex(Path file, Map<String, IndexedArchive> previous)
+    {
+        this.file = file;
+        this.previous = previous;
+    }
+
+    /**
+     * Read the index from the given file. A missing or unreadable file results in an empty index.
+     */
+    public static ScanIndex read(Path file)
+    {
+        Map<String, IndexedArchive> archives = new HashMap<>();
+        if (Files.isRegularFile(file))
+        {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+            {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                {
+                    logger.info("Ignoring scan index " + file + " as it has an unknown format");
+                    return new ScanIndex(file, archives);
+                }
+
+                int archiveCount = in.readInt();
+                for (int i = 0; i < archiveCount; i++)
+                {
+                    String url = in.readUTF();
+                    long size = in.readLong();
+                    long lastModified = in.readLong();
+                    BeanDiscoveryMode mode = BeanDiscoveryMode.valueOf(in.readUTF());
+                    String filters = in.readUTF();
+
+                    int classCount = in.readInt();
+                    List<IndexedClass> classes = new ArrayList<>(classCount);
+                    for (int c = 0; c < classCount; c++)
+                    {
+                        String className = in.readUTF();
+                        int annotationCount = in.readInt();
+                        List<String> annotations = annotationCount == 0 ? Collections.emptyList() : new ArrayList<>(annotationCount);
+                        for (int a = 0; a < annotationCount; a++)
+                        {
+                            annotations.add(in.readUTF());
+                        }
+                        classes.add(new IndexedClass(className, annotations));
+                    }
+
+                    archives.put(url, new IndexedArchive(url, size, lastModified, mode, filters, classes));
+                }
+            }
+            catch (IOException | RuntimeException e)
+            {
+                logger.log(Level.WARNING, "Can't read scan index " + file + ", all archives will get scanned", e);
+                archives.clear();
+            }
+        }
+        return new ScanIndex(file, archives);
+    }
+
+    /**
+     * @param filters all exclusions and filters which got applied while scanning the archive
+     * @return the indexed archive if the archive didn't change since the index got written, {@code null} otherwise
+     */
+    public IndexedArchive lookup(URL url, BeanDiscoveryMode mode, String filters)
+    {
+        IndexedArchive indexed = previous.get(url.toExternalForm());
+        if (indexed == null || indexed.mode != mode || !indexed.filters.equals(filters))
+        {
+            return null;
+        }
+
+        long[] fingerprint = fingerprint(url);
+        if (fingerprint == null || fingerprint[0] != indexed.size || fingerprint[1] != indexed.lastModified)
+        {
+            return null;
+        }
+
+        current.put(indexed.url, indexed);
+        return indexed;
+    }
+
+    /**
+     * Register the result of a fresh scan of the given archive.
+     * @param filters all exclusions and filters which got applied while scanning the archive
+     */
+    public void update(URL url, BeanDiscoveryMode mode, String filters, List<IndexedClass> classes)
+    {
+        long[] fingerprint = fingerprint(url);
+        if (fingerprint != null)
+        {
+            String key = url.toExternalForm();
+            current.put(key, new IndexedArchive(key, fingerprint[0], fingerprint[1], mode, filters, classes));
+        }
+    }
+
+    /**
+     * Write all archives of the current deployment. Archives which are not part of it anymore get dropped.
+     */
+    public void write()
+    {
+        try
+        {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp))))
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(current.size());
+                for (IndexedArchive archive : current.values())
+                {
+                    out.writeUTF(archive.url);
+                    out.writeLong(archive.size);
+                    out.writeLong(archive.lastModified);
+                    out.writeUTF(archive.mode.name());
+                    out.writeUTF(archive.filters);
+                    out.writeInt(archive.classes.size());
+                    for (IndexedClass indexedClass : archive.classes)
+                    {
+                        out.writeUTF(indexedClass.className);
+                        out.writeInt(indexedClass.annotations.size());
+                        for (String annotation : indexedClass.annotations)
+                        {
+                            out.writeUTF(annotation);
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Can't write scan index " + file, e);
+        }
+    }
+
+    /**
+     * @return {size, lastModified} of the archive or {@code null} if it is not a local file or directory
+     */
+    private static long[] fingerprint(URL url)
+    {
+        if (!"file".equals(url.getProtocol()) && !"jar".equals(url.getProtocol()))
+        {
+            // e.g. the in memory archive of the SE API
+            return null;
+        }
+
+        File file = org.apache.xbean.finder.util.Files.toFile(url);
+        if (file == null || !file.exists())
+        {
+            return null;
+        }
+        if (file.isFile())
+        {
+            return new long[]{file.length(), file.lastModified()};
+        }
+
+        // exploded archive: the directory timestamp doesn't reflect changes in nested files
+        long[] fingerprint = {0, file.lastModified()};
+        fingerprintDirectory(file, fingerprint);
+        return fingerprint;
+    }
+
+    private static void fingerprintDirectory(File directory, long[] fingerprint)
+    {
+        File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+        for (File file : files)
+        {
+            if (file.isDirectory())
+            {
+                fingerprintDirectory(file, fingerprint);
+            }
+            else
+            {
+                fingerprint[0] += file.length();
+            }
+            fingerprint[1] = Math.max(fingerprint[1], file.lastModified());
+        }
+    }
+
+    public static final class IndexedArchive
+    {
+        private final String url;
+        private final long size;
+        private final long lastModified;
+        private final BeanDiscoveryMode mode;
+        private final String filters;
+        private final List<IndexedClass> classes;
+
+        private IndexedArchive(String url, long size, long lastModified, BeanDiscoveryMode mode, String filters,
+                               List<IndexedClass> classes)
+        {
+            this.url = url;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.mode = mode;
+            this.filters = filters;
+            this.classes = classes;
+        }
+
+        public String getUrl()
+        {
+            return url;
+        }
+
+        public BeanDiscoveryMode getMode()
+        {
+            return mode;
+        }
+
+        public List<IndexedClass> getClasses()
+        {
+            return classes;
+        }
+    }
+
+    public static final class IndexedClass
+    {
+        private final String className;
+        private final Collection<String> annotations;
+
+        /**
+         * @param className the name of the class
+         * @param annotations the class level annotations, only needed for 'annotated' bean archives
+         */
+        public IndexedClass(String className, Collection<String> annotations)
+        {
+            this.className = className;
+            this.annotations = annotations;
+        }
+
+        public String getClassName()
+        {
+            return className;
+        }
+
+        public Collection<String> getAnnotations()
+        {
+            return annotations;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.webbeans.corespi.se;
 
 import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.BusyConversationException;
@@ -40,11 +41,13 @@ import org.apache.webbeans.context.ApplicationContext;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.context.RequestContextPool;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.spi.MetricsService;
 
 
 public abstract class BaseSeContextsService extends AbstractContextsService
@@ -59,6 +62,9 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
     private ApplicationContext applicationContext;
 
+    /**Destroyed request contexts for re-use, {@code null} if the pooling is disabled*/
+    private final RequestContextPool<RequestContext> requestContextPool;
+
     static
     {
         requestContext = new ThreadLocal<>();
@@ -70,6 +76,9 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     protected BaseSeContextsService(final WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+
+        int requestContextPoolSize = webBeansContext.getOpenWebBeansConfiguration().getRequestContextPoolSize();
+        requestContextPool = requestContextPoolSize > 0 ? new RequestContextPool<>(requestContextPoolSize) : null;
     }
 
     protected abstract void destroySingletonContext();
@@ -145,6 +154,33 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Supplier<Context> getCurrentContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if(scopeType.equals(RequestScoped.class))
+        {
+            // the static ThreadLocals get replaced for each instance, so read them on each call
+            return () -> requestContext.get();
+        }
+        else if(scopeType.equals(SessionScoped.class))
+        {
+            return () -> sessionContext.get();
+        }
+        else if(scopeType.equals(ApplicationScoped.class))
+        {
+            return () -> applicationContext;
+        }
+        else if(scopeType.equals(Dependent.class))
+        {
+            return this::getCurrentDependentContext;
+        }
+
+        return super.getCurrentContextAccessor(scopeType);
+    }
+
 
     /**
      * {@inheritDoc}
@@ -328,7 +364,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     private void startRequestContext()
     {
         
-        RequestContext ctx = new RequestContext();
+        RequestContext ctx = requestContextPool != null ? requestContextPool.acquire() : null;
+        if (ctx == null)
+        {
+            ctx = new RequestContext();
+        }
         ctx.setActive(true);
         
         requestContext.set(ctx);
@@ -344,6 +384,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         SessionContext ctx = new SessionContext();
         ctx.setActive(true);
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            metrics.sessionStarted();
+        }
         
         sessionContext.set(ctx);
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
@@ -413,13 +458,18 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         BaseSeContextsService.requestContext.set(null);
         BaseSeContextsService.requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.clearThreadLocals();
 
         if (shouldFireRequestLifecycleEvents())
         {
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                     ctx, DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
         }
+
+        if (ctx != null && requestContextPool != null)
+        {
+            requestContextPool.release(ctx);
+        }
     }
 
     
@@ -430,6 +480,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if(sessionContext.get() != null)
         {
             sessionContext.get().destroy();   
+            MetricsService metrics = webBeansContext.getMetricsService();
+            if (metrics.isEnabled())
+            {
+                metrics.sessionEnded();
+            }
         }
 
         sessionContext.set(null);
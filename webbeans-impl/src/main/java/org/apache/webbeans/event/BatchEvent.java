@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.event;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.util.TypeLiteral;
+
+/**
+ * OpenWebBeans specific {@link Event} which allows to fire many events with a single call.
+ * All {@link Event}s created by OpenWebBeans implement it, so an injected Event can simply be casted:
+ *
+ * <pre>
+ * &#064;Inject
+ * private Event&lt;Record&gt; recordEvent;
+ *
+ * public void ingest(List&lt;Record&gt; records)
+ * {
+ *     ((BatchEvent&lt;Record&gt;) recordEvent).fireAll(records);
+ * }
+ * </pre>
+ *
+ * @param <T> event type
+ */
+public interface BatchEvent<T> extends Event<T>
+{
+    /**
+     * Synchronously fires all the given events.
+     *
+     * The observer methods get resolved once per runtime class of the events instead of once per event,
+     * then each observer method gets notified about all events of this class before the next observer method
+     * gets invoked. So each single event still reaches the observer methods in the order of their priority,
+     * but different events are not interleaved.
+     *
+     * Observer methods with an event parameter of type {@code List<X>} where X is assignable from
+     * the event type of this Event additionally get notified once with an unmodifiable List of all events.
+     * Other observer methods (e.g. of type Object) don't receive this List.
+     *
+     * @param events the events to fire
+     */
+    void fireAll(Collection<? extends T> events);
+
+    @Override
+    BatchEvent<T> select(Annotation... qualifiers);
+
+    @Override
+    <U extends T> BatchEvent<U> select(Class<U> subtype, Annotation... qualifiers);
+
+    @Override
+    <U extends T> BatchEvent<U> select(TypeLiteral<U> subtype, Annotation... qualifiers);
+}
@@ -24,19 +24,21 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import javax.enterprise.event.Event;
 import javax.enterprise.event.NotificationOptions;
 import javax.enterprise.inject.spi.EventMetadata;
 import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.util.TypeLiteral;
 
+import org.apache.webbeans.config.OwbParametrizedTypeImpl;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.util.Asserts;
 
@@ -44,9 +46,9 @@ import org.apache.webbeans.util.Asserts;
  * Event implementation.
  * 
  * @param <T> event type
- * @see Event
+ * @see javax.enterprise.event.Event
  */
-public class EventImpl<T> implements Event<T>, Serializable
+public class EventImpl<T> implements BatchEvent<T>, Serializable
 {
     private static final long serialVersionUID = 393021493190378023L;
 
@@ -111,6 +113,56 @@ public class EventImpl<T> implements Event<T>, Serializable
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireAll(Collection<? extends T> events)
+    {
+        if (events.isEmpty())
+        {
+            return;
+        }
+
+        // events of the same runtime class resolve to the same observer methods
+        Map<Class<?>, List<Object>> eventsByClass = new LinkedHashMap<>();
+        for (T event : events)
+        {
+            eventsByClass.computeIfAbsent(event.getClass(), k -> new ArrayList<>()).add(event);
+        }
+
+        NotificationManager notificationManager = webBeansContext.getNotificationManager();
+        for (Map.Entry<Class<?>, List<Object>> entry : eventsByClass.entrySet())
+        {
+            Class<?> eventClass = entry.getKey();
+            Object firstEvent = entry.getValue().get(0);
+            EventMetadataImpl eventMetadata = metadata;
+            if (metadata.validatedType() != eventClass)
+            {
+                webBeansContext.getWebBeansUtil().validEventType(eventClass, metadata.getType());
+                if (webBeansContext.getWebBeansUtil().isContainerEventType(firstEvent))
+                {
+                    throw new IllegalArgumentException("Firing container events is forbidden");
+                }
+                eventMetadata = metadata.select(eventClass);
+            }
+            notificationManager.doFireSyncBatch(entry.getValue(), eventMetadata,
+                    notificationManager.resolveObserversForFire(firstEvent, eventMetadata, false));
+        }
+
+        // observers of List<T> get the whole batch at once
+        List<ObserverMethod<? super Object>> batchObservers = notificationManager.resolveBatchObservers(metadata);
+        if (!batchObservers.isEmpty())
+        {
+            List<Object> batch = Collections.unmodifiableList(new ArrayList<Object>(events));
+            Set<Annotation> qualifiers = metadata.getQualifiers();
+            EventMetadataImpl batchMetadata = new EventMetadataImpl(null,
+                    new OwbParametrizedTypeImpl(null, List.class, metadata.validatedType()), metadata.getInjectionPoint(),
+                    qualifiers.toArray(new Annotation[qualifiers.size()]), webBeansContext);
+            notificationManager.doFireSync(new EventContextImpl<>(batch, batchMetadata), false, batchObservers);
+        }
+    }
+
     @Override
     public <U extends T> CompletionStage<U> fireAsync(U event)
     {
@@ -134,7 +186,7 @@ public class EventImpl<T> implements Event<T>, Serializable
      * {@inheritDoc}
      */
     @Override
-    public Event<T> select(Annotation... bindings)
+    public BatchEvent<T> select(Annotation... bindings)
     {
         return new EventImpl<>(metadata.select(bindings), webBeansContext);
     }
@@ -143,7 +195,7 @@ public class EventImpl<T> implements Event<T>, Serializable
      * {@inheritDoc}
      */
     @Override
-    public <U extends T> Event<U> select(Class<U> subtype, Annotation... bindings)
+    public <U extends T> BatchEvent<U> select(Class<U> subtype, Annotation... bindings)
     {
         return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext);
     }
@@ -152,7 +204,7 @@ public class EventImpl<T> implements Event<T>, Serializable
      * {@inheritDoc}
      */
     @Override
-    public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... bindings)
+    public <U extends T> BatchEvent<U> select(TypeLiteral<U> subtype, Annotation... bindings)
     {
         return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext);
     }
@@ -176,10 +228,7 @@ public class EventImpl<T> implements Event<T>, Serializable
         {
             if (defaultMetadataObservers == null)
             {
-                final List<ObserverMethod<? super Object>> tmp = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, false, tmp);
-                this.defaultMetadataObservers = tmp;
+                this.defaultMetadataObservers = notificationManager.resolveObserversForFire(event, metadata, false);
             }
             observerMethods = defaultMetadataObservers;
         }
@@ -205,9 +254,7 @@ public class EventImpl<T> implements Event<T>, Serializable
             observerMethods = observers.get(key);
             if (observerMethods == null)
             {
-                observerMethods = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, false, observerMethods);
+                observerMethods = notificationManager.resolveObserversForFire(event, metadata, false);
                 this.observers.putIfAbsent(key, observerMethods);
             }
         }
@@ -222,10 +269,7 @@ public class EventImpl<T> implements Event<T>, Serializable
         {
             if (defaultMetadataAsyncObservers == null)
             {
-                final List<ObserverMethod<? super Object>> tmp = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, true, tmp);
-                this.defaultMetadataAsyncObservers = tmp;
+                this.defaultMetadataAsyncObservers = notificationManager.resolveObserversForFire(event, metadata, true);
             }
             observerMethods = defaultMetadataAsyncObservers;
         }
@@ -251,52 +295,11 @@ public class EventImpl<T> implements Event<T>, Serializable
             observerMethods = asyncObservers.get(key);
             if (observerMethods == null)
             {
-                observerMethods = new ArrayList<>( // faster than LinkedList
-                        notificationManager.resolveObservers(event, metadata, false));
-                notificationManager.prepareObserverListForFire(false, true, observerMethods);
+                observerMethods = notificationManager.resolveObserversForFire(event, metadata, true);
                 this.asyncObservers.putIfAbsent(key, observerMethods);
             }
         }
         return notificationManager.doFireAsync(
                 new EventContextImpl<>(event, metadata), false, options, observerMethods);
     }
-
-    private static class ObserverCacheKey
-    {
-        private final Class<?> clazz;
-        private final Type type;
-        private final Collection<Annotation> qualifiers;
-        private final int hash;
-
-        private ObserverCacheKey(Class<?> clazz, Type type, Collection<Annotation> qualifiers)
-        {
-            this.clazz = clazz;
-            this.type = type;
-            this.qualifiers = qualifiers;
-            this.hash = Objects.hash(clazz, type, qualifiers);
-        }
-
-        @Override
-        public boolean equals(final Object o)
-        {
-            if (this == o)
-            {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass())
-            {
-                return false;
-            }
-            ObserverCacheKey that = ObserverCacheKey.class.cast(o);
-            return Objects.equals(clazz, that.clazz) &&
-                    Objects.equals(type, that.type) &&
-                    Objects.equals(qualifiers, that.qualifiers);
-        }
-
-        @Override
-        public int hashCode()
-        {
-            return hash;
-        }
-    }
 }
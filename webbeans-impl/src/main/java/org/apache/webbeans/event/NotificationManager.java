@@ -29,7 +29,6 @@ import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -76,7 +75,9 @@ import javax.enterprise.inject.spi.ProcessSyntheticBean;
 import javax.enterprise.inject.spi.ProcessSyntheticObserverMethod;
 
 import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.config.BootReport;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.OwbParametrizedTypeImpl;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
@@ -88,6 +89,7 @@ import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
 import org.apache.webbeans.portable.events.generics.TwoParametersGenericBeanEvent;
 import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -95,7 +97,9 @@ import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.GenericsUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toMap;
 
@@ -118,6 +122,29 @@ public final class NotificationManager
     private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
         = new ConcurrentHashMap<>();
 
+    /**
+     * Observer methods ready to get notified, cached by event class, declared event type and qualifiers.
+     * Only gets filled once the container got started, see {@link #clearCaches()}.
+     * Invalidating swaps the whole instance, so a resolution which started before can't add a stale entry.
+     */
+    private volatile ResolvedObservers resolvedObservers = new ResolvedObservers();
+    private volatile boolean cacheResolvedObservers;
+
+    /**
+     * Whether a qualifier type has no members, see {@link #isCacheable(Collection)}.
+     */
+    private final ConcurrentMap<Class<? extends Annotation>, Boolean> memberlessQualifiers = new ConcurrentHashMap<>();
+
+    /**
+     * Only set while the BeansDeployer runs with the boot report enabled.
+     */
+    private volatile BootReport bootReport;
+
+    /**
+     * Only set if the {@link MetricsService} is enabled.
+     */
+    private final MetricsService metrics;
+
     // this is actually faster than a lambda Comparator.comparingInt(ObserverMethod::getPriority)
     private Comparator<? super ObserverMethod<? super Object>> observerMethodComparator
         = new Comparator<ObserverMethod<? super Object>>()
@@ -148,6 +175,8 @@ public final class NotificationManager
     {
         this.webBeansContext = webBeansContext;
         this.defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        this.metrics = metricsService != null && metricsService.isEnabled() ? metricsService : null;
     }
 
     public void afterStart()
@@ -170,7 +199,22 @@ public final class NotificationManager
         //
         // logic is: if an Executor is registered as a spi use it, otherwise use JVM default one
         Executor service = webBeansContext.getService(Executor.class);
-        return service != null ? service : new CloseableExecutor();
+        if (service != null)
+        {
+            return service;
+        }
+
+        if ("virtual".equals(webBeansContext.getOpenWebBeansConfiguration().getAsyncEventExecutor()))
+        {
+            Executor virtualThreads = VirtualThreadExecutor.create();
+            if (virtualThreads != null)
+            {
+                return virtualThreads;
+            }
+            WebBeansLoggerFacade.getLogger(NotificationManager.class)
+                    .warning("Virtual threads are not supported by this JVM, using the default executor for async events");
+        }
+        return new CloseableExecutor();
     }
 
     /**
@@ -182,6 +226,8 @@ public final class NotificationManager
     {
         observersByRawType.clear();
         hasContextLifecycleEventObservers.clear();
+        resolvedObservers = new ResolvedObservers();
+        cacheResolvedObservers = true;
     }
 
     /**
@@ -229,6 +275,10 @@ public final class NotificationManager
         Set<ObserverMethod<?>> set = observers.computeIfAbsent(observer.getObservedType(), k -> new HashSet<>());
 
         set.add(observer);
+
+        // the resolution of already fired events might change now
+        observersByRawType.clear();
+        resolvedObservers = new ResolvedObservers();
     }
 
     public boolean hasProcessAnnotatedTypeObservers()
@@ -571,8 +621,8 @@ public final class NotificationManager
             for (Type eventType : eventTypes)
             {
                 if ((ParameterizedType.class.isInstance(eventType) && Class.class.isInstance(observedType)
-                        && GenericsUtil.isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType(), new HashMap<>()))
-                    || GenericsUtil.isAssignableFrom(true, false, observedType, eventType, new HashMap<>()))
+                        && webBeansContext.getTypeAssignabilityCache().isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType()))
+                    || webBeansContext.getTypeAssignabilityCache().isAssignableFrom(true, false, observedType, eventType))
                 {
                     Set<ObserverMethod<?>> observerMethods = observerEntry.getValue();
 
@@ -777,7 +827,7 @@ public final class NotificationManager
         }
         else if (observerTypeActualArg instanceof ParameterizedType)
         {
-            return GenericsUtil.isAssignableFrom(false, true, observerTypeActualArg, beanClass, new HashMap<>());
+            return webBeansContext.getTypeAssignabilityCache().isAssignableFrom(false, true, observerTypeActualArg, beanClass);
         }
         
         return false;
@@ -812,7 +862,7 @@ public final class NotificationManager
             if(checkEventTypeParameterForExtensions(beanClass, actualArgs[0])
                     && (secondParam == null || actualArgs.length == 1
                             || checkEventTypeParameterForExtensions(secondParam, actualArgs[1])
-                            || GenericsUtil.isAssignableFrom(true, false, actualArgs[1], secondParam, new HashMap<>())))
+                            || webBeansContext.getTypeAssignabilityCache().isAssignableFrom(true, false, actualArgs[1], secondParam)))
             {
                 addToMatching(type, matching);   
             }
@@ -927,9 +977,15 @@ public final class NotificationManager
         {
             throw new IllegalArgumentException("Firing container events is forbidden");
         }
+        if (!isLifecycleEvent)
+        {
+            return doFire(
+                    event, metadata, false, notificationOptions, async,
+                    resolveObserversForFire(event, metadata, async));
+        }
         return doFireEvent(
-                event, metadata, isLifecycleEvent, notificationOptions, async,
-                new ArrayList<>(resolveObservers(event, metadata, isLifecycleEvent)));
+                event, metadata, true, notificationOptions, async,
+                new ArrayList<>(resolveObservers(event, metadata, true)));
 
     }
 
@@ -938,8 +994,137 @@ public final class NotificationManager
                                               List<ObserverMethod<? super Object>> observerMethods)
     {
         prepareObserverListForFire(isLifecycleEvent, async, observerMethods);
+        return doFire(event, metadata, isLifecycleEvent, notificationOptions, async, observerMethods);
+    }
+
+    /**
+     * Resolves the observer methods to notify for a non-lifecycle event, filtered for
+     * synchronous resp. asynchronous delivery and sorted by priority.
+     * Once the container got started the result gets cached, so firing the same kind of event
+     * again doesn't need to match all observer methods against the event type and qualifiers.
+     *
+     * @return an unmodifiable list of the observer methods
+     */
+    public List<ObserverMethod<? super Object>> resolveObserversForFire(Object event, EventMetadataImpl metadata, boolean async)
+    {
+        if (!cacheResolvedObservers || !isCacheable(metadata.getQualifiers()))
+        {
+            return resolveAndPrepareObservers(event, metadata, async);
+        }
+
+        ObserverCacheKey key = new ObserverCacheKey(event.getClass(), metadata.validatedType(), metadata.getQualifiers());
+        ResolvedObservers resolved = resolvedObservers;
+        ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> cache = async ? resolved.async : resolved.sync;
+        List<ObserverMethod<? super Object>> observerMethods = cache.get(key);
+        if (observerMethods == null)
+        {
+            observerMethods = resolveAndPrepareObservers(event, metadata, async);
+            List<ObserverMethod<? super Object>> existing = cache.putIfAbsent(key, observerMethods);
+            if (existing != null)
+            {
+                observerMethods = existing;
+            }
+        }
+        return observerMethods;
+    }
+
+    /**
+     * Resolves the synchronous observer methods which observe a {@code List} of events fired via
+     * {@link BatchEvent#fireAll(Collection)}. Only observer methods with a parameterized List event type
+     * assignable from {@code List<event type>} get returned, not e.g. observers of Object.
+     *
+     * @param metadata the metadata of the single events
+     * @return an unmodifiable list of the observer methods, sorted by priority
+     */
+    public List<ObserverMethod<? super Object>> resolveBatchObservers(EventMetadataImpl metadata)
+    {
+        ObserverCacheKey key = cacheResolvedObservers && isCacheable(metadata.getQualifiers())
+            ? new ObserverCacheKey(List.class, metadata.validatedType(), metadata.getQualifiers()) : null;
+        ResolvedObservers resolved = resolvedObservers;
+        List<ObserverMethod<? super Object>> observerMethods = key != null ? resolved.batch.get(key) : null;
+        if (observerMethods != null)
+        {
+            return observerMethods;
+        }
+
+        Type listType = new OwbParametrizedTypeImpl(null, List.class, metadata.validatedType());
+        List<ObserverMethod<? super Object>> matching = new ArrayList<>();
+        for (Map.Entry<Type, Set<ObserverMethod<?>>> observerEntry : observers.entrySet())
+        {
+            Type observedType = observerEntry.getKey();
+            if (observedType instanceof ParameterizedType
+                && ((ParameterizedType) observedType).getRawType() == List.class
+                && webBeansContext.getTypeAssignabilityCache().isAssignableFrom(true, false, observedType, listType))
+            {
+                for (ObserverMethod<?> observerMethod : observerEntry.getValue())
+                {
+                    matching.add((ObserverMethod<? super Object>) observerMethod);
+                }
+            }
+        }
+
+        observerMethods = new ArrayList<>(filterByQualifiers(matching, metadata.getQualifiers()));
+        prepareObserverListForFire(false, false, observerMethods);
         if (observerMethods.isEmpty())
         {
+            observerMethods = emptyList();
+        }
+        else
+        {
+            ObserverMethod<? super Object>[] sorted = observerMethods.toArray(new ObserverMethod[observerMethods.size()]);
+            observerMethods = unmodifiableList(asList(sorted));
+        }
+
+        if (key != null)
+        {
+            List<ObserverMethod<? super Object>> existing = resolved.batch.putIfAbsent(key, observerMethods);
+            if (existing != null)
+            {
+                observerMethods = existing;
+            }
+        }
+        return observerMethods;
+    }
+
+    /**
+     * Only qualifiers without members keep the number of cache keys bounded,
+     * e.g. {@code event.select(new NamedLiteral(id))} would otherwise add a new entry on each fire.
+     */
+    private boolean isCacheable(Collection<Annotation> qualifiers)
+    {
+        for (Annotation qualifier : qualifiers)
+        {
+            if (!memberlessQualifiers.computeIfAbsent(qualifier.annotationType(), t -> t.getDeclaredMethods().length == 0))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<ObserverMethod<? super Object>> resolveAndPrepareObservers(Object event, EventMetadataImpl metadata, boolean async)
+    {
+        List<ObserverMethod<? super Object>> observerMethods = new ArrayList<>( // faster than LinkedList
+                resolveObservers(event, metadata, false));
+        prepareObserverListForFire(false, async, observerMethods);
+        if (observerMethods.isEmpty())
+        {
+            return emptyList();
+        }
+        ObserverMethod<? super Object>[] sorted = observerMethods.toArray(new ObserverMethod[observerMethods.size()]);
+        return unmodifiableList(asList(sorted));
+    }
+
+    private <T> CompletionStage<T> doFire(Object event, EventMetadataImpl metadata, boolean isLifecycleEvent,
+                                          NotificationOptions notificationOptions, boolean async,
+                                          List<ObserverMethod<? super Object>> observerMethods)
+    {
+        if (observerMethods.isEmpty())
+        {
+            if (metrics != null)
+            {
+                metrics.eventFired(event.getClass());
+            }
             if (async)
             {
                 return completedFuture((T) event);
@@ -960,6 +1145,10 @@ public final class NotificationManager
                                               boolean isLifecycleEvent, NotificationOptions notificationOptions,
                                               List<ObserverMethod<? super Object>> observerMethods)
     {
+        if (metrics != null)
+        {
+            metrics.eventFired(context.getEvent().getClass());
+        }
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
@@ -995,6 +1184,10 @@ public final class NotificationManager
     public void doFireSync(EventContext<?> context, boolean isLifecycleEvent,
                            List<ObserverMethod<? super Object>> observerMethods)
     {
+        if (metrics != null)
+        {
+            metrics.eventFired(context.getEvent().getClass());
+        }
         if (observerMethods.isEmpty())
         {
             return;
@@ -1002,40 +1195,87 @@ public final class NotificationManager
         // synchronous case
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
-            try
+            notifySync(context, isLifecycleEvent, observer);
+        }
+    }
+
+    /**
+     * Synchronously notifies each observer method about all the given events
+     * before going on with the next observer method.
+     *
+     * @param events the events, all of them must resolve to the given observer methods
+     * @param metadata the metadata of the events
+     * @param observerMethods the result of {@link #resolveObserversForFire(Object, EventMetadataImpl, boolean)}
+     */
+    public void doFireSyncBatch(List<?> events, EventMetadataImpl metadata,
+                                List<ObserverMethod<? super Object>> observerMethods)
+    {
+        if (metrics != null)
+        {
+            events.forEach(event -> metrics.eventFired(event.getClass()));
+        }
+        if (observerMethods.isEmpty() || events.isEmpty())
+        {
+            return;
+        }
+
+        List<EventContext<?>> contexts = new ArrayList<>(events.size());
+        for (Object event : events)
+        {
+            contexts.add(new EventContextImpl<>(event, metadata));
+        }
+        for (ObserverMethod<? super Object> observer : observerMethods)
+        {
+            for (EventContext<?> context : contexts)
             {
-                TransactionPhase phase = observer.getTransactionPhase();
+                notifySync(context, false, observer);
+            }
+        }
+    }
 
-                if (phase == null || phase == TransactionPhase.IN_PROGRESS)
+    private void notifySync(EventContext<?> context, boolean isLifecycleEvent, ObserverMethod<? super Object> observer)
+    {
+        try
+        {
+            TransactionPhase phase = observer.getTransactionPhase();
+
+            if (phase == null || phase == TransactionPhase.IN_PROGRESS)
+            {
+                BootReport report = bootReport;
+                if (isLifecycleEvent && report != null)
                 {
-                    invokeObserverMethod(context, observer);
+                    invokeLifecycleObserverMethod(context, observer, report);
                 }
                 else
                 {
-                    TransactionService transactionService = webBeansContext.getTransactionService();
-                    if(transactionService != null)
-                    {
-                        transactionService.registerTransactionSynchronization(phase, observer, context.getEvent());
-                    }
-                    else
-                    {
-                        invokeObserverMethod(context, observer);
-                    }
+                    invokeObserverMethod(context, observer);
                 }
             }
-            catch (WebBeansException e)
-            {
-                onWebBeansException(context.getEvent(), isLifecycleEvent, e);
-            }
-            catch (RuntimeException e)
-            {
-                throw e;
-            }
-            catch (Exception e)
+            else
             {
-                throw new WebBeansException(e);
+                TransactionService transactionService = webBeansContext.getTransactionService();
+                if(transactionService != null)
+                {
+                    transactionService.registerTransactionSynchronization(phase, observer, context.getEvent());
+                }
+                else
+                {
+                    invokeObserverMethod(context, observer);
+                }
             }
         }
+        catch (WebBeansException e)
+        {
+            onWebBeansException(context.getEvent(), isLifecycleEvent, e);
+        }
+        catch (RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new WebBeansException(e);
+        }
     }
 
     public void prepareObserverListForFire(boolean isLifecycleEvent, boolean async,
@@ -1130,9 +1370,17 @@ public final class NotificationManager
 
     private void runAsync(EventContext<?> context, ObserverMethod<? super Object> observer)
     {
-        //X TODO set up threads, requestcontext etc
         final ContextsService contextsService = webBeansContext.getContextsService();
-        contextsService.getCurrentContext(RequestScoped.class);
+        if (contextsService.getCurrentContext(RequestScoped.class, false) != null)
+        {
+            // the executor runs the task in the thread of the caller (or of another active request),
+            // we must neither replace nor end its request context
+            invokeObserverMethod(context, observer);
+            return;
+        }
+
+        // each async observer method gets its own request context which must not leak
+        // into other tasks if the executor reuses the thread
         contextsService.startContext(RequestScoped.class, null);
         try
         {
@@ -1146,9 +1394,44 @@ public final class NotificationManager
 
     private void invokeObserverMethod(EventContext context, ObserverMethod<?> observer)
     {
+        if (metrics != null)
+        {
+            long start = System.nanoTime();
+            try
+            {
+                observer.notify(context);
+            }
+            finally
+            {
+                metrics.observerNotified(context.getEvent().getClass(), System.nanoTime() - start);
+            }
+            return;
+        }
         observer.notify(context);
     }
 
+    private void invokeLifecycleObserverMethod(EventContext context, ObserverMethod<?> observer, BootReport report)
+    {
+        long start = System.nanoTime();
+        try
+        {
+            invokeObserverMethod(context, observer);
+        }
+        finally
+        {
+            report.observerNotified(observer.getBeanClass(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lets the lifecycle observer methods get timed for the given boot report.
+     * @param bootReport the report or {@code null} to stop the timing
+     */
+    public void setBootReport(BootReport bootReport)
+    {
+        this.bootReport = bootReport;
+    }
+
     /**
      * Gets observer method from given annotated method.
      * @param <T> bean type info
@@ -1254,6 +1537,17 @@ public final class NotificationManager
         }
     }
 
+    /**
+     * The resolved observer methods, already filtered for synchronous resp. asynchronous delivery
+     * and sorted by priority.
+     */
+    private static final class ResolvedObservers
+    {
+        private final ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> sync = new ConcurrentHashMap<>();
+        private final ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> async = new ConcurrentHashMap<>();
+        private final ConcurrentMap<ObserverCacheKey, List<ObserverMethod<? super Object>>> batch = new ConcurrentHashMap<>();
+    }
+
     private static final class CloseableExecutor implements Executor, Closeable
     {
         private final Collection<Runnable> tracker = new CopyOnWriteArrayList<>();
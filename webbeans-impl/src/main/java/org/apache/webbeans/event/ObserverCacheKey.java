@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.event;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Key of the resolved observer method caches:
+ * the runtime class of the event, the declared event type and the event qualifiers.
+ */
+final class ObserverCacheKey
+{
+    private final Class<?> clazz;
+    private final Type type;
+    private final Collection<Annotation> qualifiers;
+    private final int hash;
+
+    ObserverCacheKey(Class<?> clazz, Type type, Collection<Annotation> qualifiers)
+    {
+        this.clazz = clazz;
+        this.type = type;
+        this.qualifiers = qualifiers;
+        this.hash = Objects.hash(clazz, type, qualifiers);
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        ObserverCacheKey that = ObserverCacheKey.class.cast(o);
+        return Objects.equals(clazz, that.clazz) &&
+                Objects.equals(type, that.type) &&
+                Objects.equals(qualifiers, that.qualifiers);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hash;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.event;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Executor which starts a new virtual thread for each task.
+ * Blocking async observer methods (remote calls, JDBC,...) then don't block a platform thread of a pool.
+ *
+ * Virtual threads are only available on Java 21+, use {@link #create()} to check it.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#ASYNC_EVENT_EXECUTOR
+ */
+public final class VirtualThreadExecutor implements Executor, Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(VirtualThreadExecutor.class);
+
+    private final ThreadFactory threadFactory;
+    private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean reject;
+
+    private VirtualThreadExecutor(ThreadFactory threadFactory)
+    {
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * @return the executor or {@code null} if the JVM doesn't support virtual threads
+     */
+    public static VirtualThreadExecutor create()
+    {
+        try
+        {
+            // Thread.ofVirtual().name("owb-async-observer-", 0).factory() without requiring Java 21 to compile
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, "owb-async-observer-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return new VirtualThreadExecutor(factory);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            logger.log(Level.FINE, "Virtual threads are not supported by this JVM", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        if (reject)
+        {
+            throw new RejectedExecutionException("CDI executor is shutdown");
+        }
+        Thread thread = threadFactory.newThread(() ->
+        {
+            try
+            {
+                command.run();
+            }
+            finally
+            {
+                running.remove(Thread.currentThread());
+            }
+        });
+        running.add(thread);
+        thread.start();
+    }
+
+    /**
+     * Rejects new tasks and waits until the running ones are done.
+     * If the calling thread gets interrupted meanwhile the remaining tasks get interrupted too.
+     */
+    @Override
+    public void close()
+    {
+        reject = true;
+        for (Thread thread : running)
+        {
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException e)
+            {
+                running.forEach(Thread::interrupt);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -72,12 +72,23 @@ public abstract class AbstractInjectable<T>
      */
     public T inject(InjectionPoint injectionPoint)
     {
-        T injected;
         BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
 
         //Injected contextual bean
-        Bean<?> injectedBean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
-        
+        return inject(injectionPoint, beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint));
+    }
+
+    /**
+     * Gets the injected bean instance for an InjectionPoint which already got resolved.
+     * @param injectionPoint injection point definition
+     * @param injectedBean the Bean resolved for the injectionPoint
+     * @return current bean instance in the resolved bean scope
+     */
+    public T inject(InjectionPoint injectionPoint, Bean<?> injectedBean)
+    {
+        T injected;
+        BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
+
         //Injection for dependent instance InjectionPoint fields
         boolean dependentProducer = false;
         if(WebBeansUtil.isDependent(injectedBean) && !injectionPoint.isTransient() && injectedBean instanceof AbstractProducerBean
@@ -97,7 +108,7 @@ public abstract class AbstractInjectable<T>
         }
 
         //Gets injectable reference for injected bean
-        injected = (T) beanManager.getInjectableReference(injectionPoint, injectionPointContext);
+        injected = (T) beanManager.getInjectableReference(injectionPoint, injectedBean, injectionPointContext);
 
         if (injected == null)
         {
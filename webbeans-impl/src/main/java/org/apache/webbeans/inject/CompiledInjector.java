@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.Producer;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.exception.WebBeansException;
+
+/**
+ * Field and initializer method injection for all instances of one class.
+ *
+ * All injected members get bound to {@link MethodHandle}s and all InjectionPoints
+ * get resolved to their Bean once. {@link #inject(Object, Producer, CreationalContextImpl)}
+ * then only needs to get the references and to invoke the handles.
+ * The injection order is the one of {@link InjectableField} and {@link InjectableMethod}
+ * as used by {@link org.apache.webbeans.portable.InjectionTargetImpl}.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#COMPILED_INJECTORS
+ */
+public final class CompiledInjector<T>
+{
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?> type;
+    private final Step[] steps;
+
+    private CompiledInjector(Class<?> type, List<Step> steps)
+    {
+        this.type = type;
+        this.steps = steps.toArray(new Step[steps.size()]);
+    }
+
+    /**
+     * @return the class of the instances this injector got built for
+     */
+    public Class<?> getType()
+    {
+        return type;
+    }
+
+    public void inject(Object instance, Producer<T> owner, CreationalContextImpl<T> creationalContext)
+    {
+        Injector<T> injector = new Injector<>(owner, creationalContext);
+        try
+        {
+            for (Step step : steps)
+            {
+                step.inject(instance, injector);
+            }
+        }
+        finally
+        {
+            injector.release();
+        }
+    }
+
+    /**
+     * Collects the injected members in injection order.
+     */
+    public static final class Builder<T>
+    {
+        private final WebBeansContext webBeansContext;
+        private final Class<?> type;
+        private final List<Step> steps = new ArrayList<>();
+
+        public Builder(WebBeansContext webBeansContext, Class<?> type)
+        {
+            this.webBeansContext = webBeansContext;
+            this.type = type;
+        }
+
+        /**
+         * @return {@code false} if the field can't be bound to a MethodHandle
+         */
+        public boolean addField(Field field, InjectionPoint injectionPoint, Bean<?> injectedBean)
+        {
+            try
+            {
+                webBeansContext.getSecurityService().doPrivilegedSetAccessible(field, true);
+                MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                steps.add(new FieldStep(setter, injectionPoint, injectedBean));
+                return true;
+            }
+            catch (IllegalAccessException | RuntimeException e)
+            {
+                // e.g. not accessible due to the module system
+                return false;
+            }
+        }
+
+        /**
+         * @param injectionPoints the InjectionPoints of the method parameters ordered by position
+         * @param injectedBeans the resolved Beans of the injectionPoints
+         * @return {@code false} if the method can't be bound to a MethodHandle
+         */
+        public boolean addMethod(Method method, InjectionPoint[] injectionPoints, Bean<?>[] injectedBeans)
+        {
+            try
+            {
+                webBeansContext.getSecurityService().doPrivilegedSetAccessible(method, true);
+                int parameterCount = method.getParameterCount();
+                MethodHandle invoker = MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(parameterCount + 1))
+                        .asSpreader(Object[].class, parameterCount);
+                steps.add(new MethodStep(invoker, injectionPoints, injectedBeans));
+                return true;
+            }
+            catch (IllegalAccessException | RuntimeException e)
+            {
+                return false;
+            }
+        }
+
+        /**
+         * Adds a step which is not a member injection, e.g. the Java EE resource injection.
+         */
+        public void addCallback(Consumer<Object> callback)
+        {
+            steps.add((instance, injector) -> callback.accept(instance));
+        }
+
+        public CompiledInjector<T> build()
+        {
+            return new CompiledInjector<>(type, steps);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step
+    {
+        void inject(Object instance, Injector<?> injector);
+    }
+
+    private static final class FieldStep implements Step
+    {
+        private final MethodHandle setter;
+        private final InjectionPoint injectionPoint;
+        private final Bean<?> injectedBean;
+
+        private FieldStep(MethodHandle setter, InjectionPoint injectionPoint, Bean<?> injectedBean)
+        {
+            this.setter = setter;
+            this.injectionPoint = injectionPoint;
+            this.injectedBean = injectedBean;
+        }
+
+        @Override
+        public void inject(Object instance, Injector<?> injector)
+        {
+            Object value = injector.get(injectionPoint, injectedBean);
+            try
+            {
+                setter.invokeExact(instance, value);
+            }
+            catch (RuntimeException | Error e)
+            {
+                throw e;
+            }
+            catch (Throwable t)
+            {
+                throw new WebBeansException(t);
+            }
+        }
+    }
+
+    private static final class MethodStep implements Step
+    {
+        private final MethodHandle invoker;
+        private final InjectionPoint[] injectionPoints;
+        private final Bean<?>[] injectedBeans;
+
+        private MethodStep(MethodHandle invoker, InjectionPoint[] injectionPoints, Bean<?>[] injectedBeans)
+        {
+            this.invoker = invoker;
+            this.injectionPoints = injectionPoints;
+            this.injectedBeans = injectedBeans;
+        }
+
+        @Override
+        public void inject(Object instance, Injector<?> injector)
+        {
+            Object[] args = injectionPoints.length == 0 ? NO_ARGS : new Object[injectionPoints.length];
+            for (int i = 0; i < injectionPoints.length; i++)
+            {
+                args[i] = injector.get(injectionPoints[i], injectedBeans[i]);
+            }
+            try
+            {
+                invoker.invoke(instance, args);
+            }
+            catch (Throwable t)
+            {
+                // same as the Method#invoke in InjectableMethod
+                throw new WebBeansException(t);
+            }
+        }
+    }
+
+    /**
+     * Shares one transient CreationalContext for all members of an instance.
+     */
+    private static final class Injector<T> extends AbstractInjectable<T>
+    {
+        private Injector(Producer<T> owner, CreationalContextImpl<T> creationalContext)
+        {
+            super(owner, creationalContext);
+        }
+
+        private Object get(InjectionPoint injectionPoint, Bean<?> injectedBean)
+        {
+            if (injectionPoint.isDelegate())
+            {
+                return creationalContext.getDelegate();
+            }
+            return inject(injectionPoint, injectedBean);
+        }
+
+        private void release()
+        {
+            transientCreationalContext.release();
+        }
+    }
+}
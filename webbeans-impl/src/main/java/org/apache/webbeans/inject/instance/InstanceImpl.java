@@ -42,6 +42,8 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.util.TypeLiteral;
 import javax.inject.Provider;
 
+import org.apache.webbeans.component.EnterpriseBeanMarker;
+import org.apache.webbeans.component.JmsBeanMarker;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectionResolver;
@@ -79,6 +81,22 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 
     private boolean strictValidation;
 
+    /**
+     * The resolved beans, cached once the deployment got validated as the beans can't change anymore.
+     */
+    private transient volatile Set<Bean<?>> resolvedBeans;
+
+    /**
+     * The Bean resolved by {@link #get()}, see {@link #resolvedBeans}.
+     */
+    private transient volatile Bean<?> resolvedBean;
+
+    /**
+     * The client proxy returned by {@link #get()} if the resolved Bean is normal scoped.
+     * EJB and JMS references are not cached.
+     */
+    private transient volatile T normalScopedReference;
+
     /**
      * Creates new instance.
      * 
@@ -114,19 +132,41 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public T get()
     {
+        T reference = normalScopedReference;
+        if (reference != null)
+        {
+            return reference;
+        }
 
-        Set<Bean<?>> beans = resolveBeans();
-
-        Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
-
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Bean<?> bean = resolvedBean;
         if (bean == null)
         {
-            Annotation[] anns = new Annotation[qualifierAnnotations.size()];
-            anns = qualifierAnnotations.toArray(anns);
-            InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
+            Set<Bean<?>> beans = resolveBeans();
+
+            bean = beanManager.resolve(beans);
+
+            if (bean == null)
+            {
+                Annotation[] anns = new Annotation[qualifierAnnotations.size()];
+                anns = qualifierAnnotations.toArray(anns);
+                InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
+            }
+
+            if (!beanManager.getInjectionResolver().isStartup())
+            {
+                resolvedBean = bean;
+            }
         }
 
-        return create(bean);
+        reference = create(bean);
+        if (resolvedBean != null && beanManager.isNormalScope(bean.getScope())
+            && !(bean instanceof EnterpriseBeanMarker) && !(bean instanceof JmsBeanMarker))
+        {
+            // the cached client proxy doesn't depend on the current contextual instance
+            normalScopedReference = reference;
+        }
+        return reference;
     }
 
 
@@ -137,6 +177,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
      */
     private Set<Bean<?>> resolveBeans()
     {
+        Set<Bean<?>> beans = resolvedBeans;
+        if (beans != null)
+        {
+            return beans;
+        }
+
         Annotation[] anns = new Annotation[qualifierAnnotations.size()];
         anns = qualifierAnnotations.toArray(anns);
 
@@ -148,8 +194,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         {
             injectionPointClass = injectionPointBean.getBeanClass();
         }
-        Set<Bean<?>> beans = injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, anns);
-        return injectionResolver.resolveAll(beans);
+        beans = injectionResolver.resolveAll(injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, anns));
+        if (!injectionResolver.isStartup())
+        {
+            resolvedBeans = beans;
+        }
+        return beans;
     }
     
     /**
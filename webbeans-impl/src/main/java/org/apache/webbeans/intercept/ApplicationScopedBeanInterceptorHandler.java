@@ -68,4 +68,12 @@ public class ApplicationScopedBeanInterceptorHandler extends NormalScopedBeanInt
         return cachedInstance;
     }
 
+    /**
+     * Drops the cached instance, e.g. because the application context got destroyed.
+     */
+    public void clearCachedInstance()
+    {
+        cachedInstance = null;
+    }
+
 }
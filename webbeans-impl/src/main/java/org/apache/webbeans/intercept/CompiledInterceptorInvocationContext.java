@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.lang.invoke.MethodHandle;
+
+import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.inject.spi.Interceptor;
+import javax.inject.Provider;
+
+import org.apache.webbeans.util.ExceptionUtil;
+
+/**
+ * InvocationContext for business method interceptors based on pre-resolved {@link InterceptorChains}.
+ */
+public class CompiledInterceptorInvocationContext<T> extends AbstractInvocationContext<T>
+{
+    private final InterceptorChains.MethodChain chain;
+    private final Object[] instances;
+    private int index;
+
+    /**
+     * @param instances the interceptor instances ordered by the slots of the {@link InterceptorChains}
+     */
+    public CompiledInterceptorInvocationContext(Provider<T> provider, InterceptorChains.MethodChain chain,
+                                                Object[] instances, Object[] parameters)
+    {
+        super(provider, chain.getMethod(), parameters);
+        this.chain = chain;
+        this.instances = instances;
+    }
+
+    @Override
+    public Object proceed() throws Exception
+    {
+        if (index < chain.size())
+        {
+            int position = index++;
+            Interceptor interceptor = chain.getInterceptor(position);
+            try
+            {
+                return interceptor.intercept(InterceptionType.AROUND_INVOKE, instances[chain.getSlot(position)], this);
+            }
+            catch (Exception e)
+            {
+                // restore the original location
+                // this allows for catching an Exception inside an Interceptor
+                // and then try to proceed with the interceptor chain again.
+                index--;
+                throw e;
+            }
+        }
+        return directProceed();
+    }
+
+    @Override
+    public Object directProceed() throws Exception
+    {
+        MethodHandle invoker = chain.getInvoker();
+        if (invoker == null)
+        {
+            return super.directProceed();
+        }
+
+        try
+        {
+            return (Object) invoker.invokeExact((Object) target.get(), (Object[]) parameters);
+        }
+        catch (Exception | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(t);
+        }
+    }
+}
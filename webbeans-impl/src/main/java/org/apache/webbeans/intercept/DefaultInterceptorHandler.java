@@ -24,6 +24,7 @@ import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.proxy.InterceptorHandler;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 
@@ -75,6 +76,19 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * Only set if the compiled interceptor chains are enabled.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#COMPILED_INTERCEPTOR_CHAINS
+     */
+    private InterceptorChains chains;
+    private Object[] chainInstances;
+    private Provider<T> delegateProvider;
+
+    /**
+     * Only set if the {@link MetricsService} is enabled.
+     */
+    private transient MetricsService metrics;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -97,6 +111,21 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         this.beanPassivationId = beanPassivationId;
     }
 
+    /**
+     * @param chains the pre-resolved interceptor chains of the bean, created from the given interceptors
+     * @see #DefaultInterceptorHandler(Object, Object, Map, Map, String)
+     */
+    public DefaultInterceptorHandler(T target,
+                                     T delegate,
+                                     Map<Method, List<Interceptor<?>>> interceptors,
+                                     Map<Interceptor<?>, ?> instances,
+                                     String beanPassivationId,
+                                     InterceptorChains chains)
+    {
+        this(target, delegate, interceptors, instances, beanPassivationId);
+        initChains(chains);
+    }
+
     public DefaultInterceptorHandler()
     {
         // no-op: for serialization
@@ -122,11 +151,45 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         return interceptors;
     }
 
+    /**
+     * @param metricsService records the time of each interceptor chain invocation if it is enabled
+     */
+    public void setMetricsService(MetricsService metricsService)
+    {
+        metrics = metricsService != null && metricsService.isEnabled() ? metricsService : null;
+    }
+
     @Override
     public Object invoke(Method method, Object[] parameters)
+    {
+        if (metrics != null)
+        {
+            long start = System.nanoTime();
+            try
+            {
+                return doInvoke(method, parameters);
+            }
+            finally
+            {
+                metrics.interceptorChainInvoked(method, System.nanoTime() - start);
+            }
+        }
+        return doInvoke(method, parameters);
+    }
+
+    private Object doInvoke(Method method, Object[] parameters)
     {
         try
         {
+            if (chains != null)
+            {
+                InterceptorChains.MethodChain chain = chains.getChain(method);
+                if (chain != null)
+                {
+                    return new CompiledInterceptorInvocationContext<>(delegateProvider, chain, chainInstances, parameters).proceed();
+                }
+            }
+
             List<Interceptor<?>> methodInterceptors = interceptors.get(method);
             if (methodInterceptors == null)
             {
@@ -273,6 +336,22 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         }
 
         beanPassivationId = in.readUTF();
+        setMetricsService(webBeansContext.getMetricsService());
+
+        if (webBeansContext.getOpenWebBeansConfiguration().isCompiledInterceptorChains())
+        {
+            initChains(new InterceptorChains(webBeansContext, interceptors));
+        }
+    }
+
+    private void initChains(InterceptorChains interceptorChains)
+    {
+        chains = interceptorChains;
+        if (chains != null)
+        {
+            chainInstances = chains.resolveInstances(instances);
+            delegateProvider = new InstanceProvider<>(delegate);
+        }
     }
 
     /**
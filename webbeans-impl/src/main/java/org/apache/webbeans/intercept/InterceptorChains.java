@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.inject.spi.Interceptor;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.SecurityService;
+
+/**
+ * Pre-resolved business method interceptor chains of a single bean.
+ *
+ * All {@link InterceptionType#AROUND_INVOKE} interceptors of the bean get a slot in a dense array,
+ * each intercepted method references its interceptors by those slots.
+ * This allows {@link DefaultInterceptorHandler} to resolve the interceptor instances once per
+ * contextual instance instead of looking them up on each invocation.
+ * The intercepted method itself gets invoked via a {@link MethodHandle}.
+ *
+ * Instances are immutable and shared by all contextual instances of the bean.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#COMPILED_INTERCEPTOR_CHAINS
+ */
+public class InterceptorChains
+{
+    private static final Object[] NO_INSTANCES = new Object[0];
+
+    /**
+     * all AROUND_INVOKE interceptors of the bean, the index is the slot of the interceptor
+     */
+    private final Interceptor<?>[] interceptors;
+
+    /**
+     * the proxy passes the very same Method instances we got, so the identity lookup is the fast path
+     */
+    private final Map<Method, MethodChain> chainsByIdentity;
+    private final Map<Method, MethodChain> chains;
+
+    public InterceptorChains(WebBeansContext webBeansContext, Map<Method, List<Interceptor<?>>> methodInterceptors)
+    {
+        SecurityService securityService = webBeansContext.getSecurityService();
+        List<Interceptor<?>> allInterceptors = new ArrayList<>();
+        Map<Interceptor<?>, Integer> slots = new HashMap<>();
+
+        chainsByIdentity = new IdentityHashMap<>(methodInterceptors.size());
+        chains = new HashMap<>(methodInterceptors.size());
+        for (Map.Entry<Method, List<Interceptor<?>>> entry : methodInterceptors.entrySet())
+        {
+            List<Interceptor<?>> aroundInvokeInterceptors = new ArrayList<>(entry.getValue().size());
+            for (Interceptor<?> interceptor : entry.getValue())
+            {
+                if (interceptor.intercepts(InterceptionType.AROUND_INVOKE))
+                {
+                    aroundInvokeInterceptors.add(interceptor);
+                }
+            }
+
+            Interceptor<?>[] methodChain = aroundInvokeInterceptors.toArray(new Interceptor<?>[aroundInvokeInterceptors.size()]);
+            int[] methodSlots = new int[methodChain.length];
+            for (int i = 0; i < methodChain.length; i++)
+            {
+                Integer slot = slots.get(methodChain[i]);
+                if (slot == null)
+                {
+                    slot = allInterceptors.size();
+                    slots.put(methodChain[i], slot);
+                    allInterceptors.add(methodChain[i]);
+                }
+                methodSlots[i] = slot;
+            }
+
+            MethodChain chain = new MethodChain(entry.getKey(), methodChain, methodSlots, securityService);
+            chainsByIdentity.put(entry.getKey(), chain);
+            chains.put(entry.getKey(), chain);
+        }
+
+        interceptors = allInterceptors.toArray(new Interceptor<?>[allInterceptors.size()]);
+    }
+
+    /**
+     * @return the chain of the given method or {@code null} if the method is not intercepted
+     */
+    public MethodChain getChain(Method method)
+    {
+        MethodChain chain = chainsByIdentity.get(method);
+        if (chain == null)
+        {
+            chain = chains.get(method);
+        }
+        return chain;
+    }
+
+    /**
+     * @param instances the interceptor instances of a contextual instance
+     * @return the interceptor instances ordered by slot
+     */
+    public Object[] resolveInstances(Map<Interceptor<?>, ?> instances)
+    {
+        if (interceptors.length == 0)
+        {
+            return NO_INSTANCES;
+        }
+
+        Object[] resolved = new Object[interceptors.length];
+        for (int i = 0; i < interceptors.length; i++)
+        {
+            resolved[i] = instances.get(interceptors[i]);
+        }
+        return resolved;
+    }
+
+    /**
+     * The interceptors and the invoker of a single business method.
+     */
+    public static final class MethodChain
+    {
+        private final Method method;
+        private final Interceptor<?>[] interceptors;
+        private final int[] slots;
+
+        /**
+         * {@code (Object target, Object[] parameters)Object}, {@code null} if the method can't be unreflected
+         */
+        private final MethodHandle invoker;
+
+        private MethodChain(Method method, Interceptor<?>[] interceptors, int[] slots, SecurityService securityService)
+        {
+            this.method = method;
+            this.interceptors = interceptors;
+            this.slots = slots;
+            this.invoker = createInvoker(method, securityService);
+        }
+
+        public Method getMethod()
+        {
+            return method;
+        }
+
+        public int size()
+        {
+            return interceptors.length;
+        }
+
+        public Interceptor<?> getInterceptor(int position)
+        {
+            return interceptors[position];
+        }
+
+        public int getSlot(int position)
+        {
+            return slots[position];
+        }
+
+        public MethodHandle getInvoker()
+        {
+            return invoker;
+        }
+
+        private static MethodHandle createInvoker(Method method, SecurityService securityService)
+        {
+            if (Modifier.isStatic(method.getModifiers()))
+            {
+                return null;
+            }
+
+            try
+            {
+                securityService.doPrivilegedSetAccessible(method, true);
+                int parameterCount = method.getParameterCount();
+                return MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(parameterCount + 1))
+                        .asSpreader(Object[].class, parameterCount);
+            }
+            catch (IllegalAccessException | RuntimeException e)
+            {
+                // e.g. not accessible due to the module system, the reflection based invocation will be used
+                return null;
+            }
+        }
+    }
+}
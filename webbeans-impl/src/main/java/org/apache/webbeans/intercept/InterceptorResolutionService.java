@@ -30,7 +30,6 @@ import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
-import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
@@ -862,7 +861,10 @@ public class InterceptorResolutionService
                         new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
             }
         }
-        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        DefaultInterceptorHandler<T> interceptorHandler
+            = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId,
+                                             interceptorInfo.getInterceptorChains());
+        interceptorHandler.setMetricsService(webBeansContext.getMetricsService());
 
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
     }
@@ -945,6 +947,11 @@ public class InterceptorResolutionService
          */
         private Map<InterceptionType, LifecycleMethodInfo> lifecycleMethodInterceptorInfos;
 
+        /**
+         * pre-resolved form of the method interceptors, only set if the compiled interceptor chains are enabled
+         */
+        private volatile InterceptorChains interceptorChains;
+
 
         public List<Decorator<?>> getDecorators()
         {
@@ -995,6 +1002,16 @@ public class InterceptorResolutionService
         {
             return lifecycleMethodInterceptorInfos;
         }
+
+        public InterceptorChains getInterceptorChains()
+        {
+            return interceptorChains;
+        }
+
+        public void setInterceptorChains(InterceptorChains interceptorChains)
+        {
+            this.interceptorChains = interceptorChains;
+        }
     }
 
     /**
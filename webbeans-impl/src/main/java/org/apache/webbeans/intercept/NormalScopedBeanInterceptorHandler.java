@@ -28,8 +28,11 @@ import javax.inject.Provider;
 import java.io.NotSerializableException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.function.Supplier;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.spi.MetricsService;
 
 /**
  * <p>A Provider which handles all NormalScoped proxying.
@@ -55,6 +58,16 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
      */
     private String beanPassivationId;
 
+    /**
+     * Only set if the {@link MetricsService} is enabled.
+     */
+    private transient MetricsService metrics;
+
+    /**
+     * Resolves the Context of the bean scope, only set if we got the BeanManagerImpl.
+     */
+    private transient Supplier<Context> contextAccessor;
+
     public NormalScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         this.beanManager = beanManager;
@@ -63,6 +76,12 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
         {
             beanPassivationId = ((PassivationCapable) bean).getId();
         }
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            MetricsService metricsService = ((BeanManagerImpl) beanManager).getWebBeansContext().getMetricsService();
+            metrics = metricsService.isEnabled() ? metricsService : null;
+            contextAccessor = ((BeanManagerImpl) beanManager).getContextAccessor(bean.getScope());
+        }
     }
 
     @Override
@@ -85,8 +104,13 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
     {
         Object webbeansInstance;
 
+        if (metrics != null)
+        {
+            metrics.proxyResolutionMiss(bean);
+        }
+
         //Context of the bean
-        Context context = beanManager.getContext(bean.getScope());
+        Context context = contextAccessor != null ? contextAccessor.get() : beanManager.getContext(bean.getScope());
 
         //Already saved in context?
         webbeansInstance = context.get(bean);
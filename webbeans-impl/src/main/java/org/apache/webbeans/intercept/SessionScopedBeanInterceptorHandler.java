@@ -20,7 +20,6 @@ package org.apache.webbeans.intercept;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
 
 
 /**
@@ -38,8 +37,9 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
 
     /**
      * Cached bean instance for each thread
+     * @see ThreadLocalInstanceCache
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
+    private static ThreadLocal<Object[]> cachedInstances = new ThreadLocal<>();
 
 
     public static void removeThreadLocals()
@@ -48,6 +48,14 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
         cachedInstances.remove();
     }
 
+    /**
+     * Drops the cached instances of the current thread at the end of a request.
+     */
+    public static void clearThreadLocals()
+    {
+        ThreadLocalInstanceCache.clear(cachedInstances);
+    }
+
     /**
      * Creates a new handler.
      */
@@ -62,19 +70,12 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     @Override
     protected Object getContextualInstance()
     {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
+        Object cachedInstance = ThreadLocalInstanceCache.get(cachedInstances, bean);
         if (cachedInstance == null)
         {
 
             cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
+            ThreadLocalInstanceCache.put(cachedInstances, bean, cachedInstance);
         }
 
         return cachedInstance;
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+
+/**
+ * Per thread cache of contextual instances used by the
+ * {@link RequestScopedBeanInterceptorHandler} and the {@link SessionScopedBeanInterceptorHandler}.
+ *
+ * Instances are indexed by the {@link AbstractOwbBean#getContextSlot() context slot} of their beans.
+ * Beans without a slot or with a slot already taken by another bean end up in a HashMap.
+ * Clearing the cache removes the ThreadLocal, so nothing stays with a pooled thread.
+ * Index 0 of the table holds the fallback map, slot {@code s} uses the indexes {@code 2s+1} (Bean) and {@code 2s+2} (instance).
+ */
+final class ThreadLocalInstanceCache
+{
+    private ThreadLocalInstanceCache()
+    {
+        // utility class
+    }
+
+    static Object get(ThreadLocal<Object[]> cache, Bean<?> bean)
+    {
+        Object[] table = cache.get();
+        if (table == null)
+        {
+            return null;
+        }
+
+        int index = 2 * slotOf(bean) + 1;
+        if (index > 0 && index < table.length && table[index] == bean)
+        {
+            return table[index + 1];
+        }
+        return table[0] == null ? null : ((Map<?, ?>) table[0]).get(bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void put(ThreadLocal<Object[]> cache, Bean<?> bean, Object instance)
+    {
+        Object[] table = cache.get();
+        if (table == null)
+        {
+            table = new Object[1];
+            cache.set(table);
+        }
+
+        int index = 2 * slotOf(bean) + 1;
+        if (index > 0)
+        {
+            if (index >= table.length)
+            {
+                table = Arrays.copyOf(table, Math.max(index + 2, table.length * 2 + 1));
+                cache.set(table);
+            }
+            if (table[index] == null || table[index] == bean)
+            {
+                table[index] = bean;
+                table[index + 1] = instance;
+                return;
+            }
+        }
+
+        if (table[0] == null)
+        {
+            table[0] = new HashMap<Bean<?>, Object>();
+        }
+        ((Map<Bean<?>, Object>) table[0]).put(bean, instance);
+    }
+
+    /**
+     * Drops all cached instances of the current thread.
+     */
+    static void clear(ThreadLocal<Object[]> cache)
+    {
+        cache.remove();
+    }
+
+    private static int slotOf(Bean<?> bean)
+    {
+        return bean instanceof AbstractOwbBean ? ((AbstractOwbBean<?>) bean).getContextSlot() : -1;
+    }
+}
@@ -26,6 +26,7 @@ import java.util.logging.Logger;
 import javax.enterprise.inject.spi.BeanManager;
 
 import org.apache.webbeans.config.BeansDeployer;
+import org.apache.webbeans.config.BootReport;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
@@ -128,7 +129,16 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         logger.fine("Scanning classpaths for beans artifacts.");
 
         //Scan
+        BootReport bootReport = deployer.getBootReport();
+        if (bootReport != null)
+        {
+            bootReport.startPhase();
+        }
         scannerService.scan();
+        if (bootReport != null)
+        {
+            bootReport.endPhase("scanning");
+        }
         
         //Deploy beans
         logger.fine("Deploying scanned beans.");
@@ -162,6 +172,8 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
 
             contextsService.destroy(endObject);
 
+            webBeansContext.getConversationManager().shutdown();
+
             //Unbind BeanManager
             jndiService.unbind(WebBeansConstants.WEB_BEANS_MANAGER_JNDI_NAME);
 
@@ -38,6 +38,7 @@ import javax.enterprise.inject.spi.Producer;
 import org.apache.webbeans.component.BeanManagerBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.intercept.InterceptorChains;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.OwbInterceptorProxy;
@@ -89,6 +90,10 @@ public abstract class AbstractProducer<T> implements Producer<T>
         }
 
         methodInterceptors = webBeansContext.getInterceptorResolutionService().createMethodInterceptors(interceptorInfo);
+        if (webBeansContext.getOpenWebBeansConfiguration().isCompiledInterceptorChains())
+        {
+            interceptorInfo.setInterceptorChains(new InterceptorChains(webBeansContext, methodInterceptors));
+        }
 
         defineLifecycleInterceptors(bean, annotatedType, webBeansContext);
 
@@ -22,7 +22,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,7 +35,6 @@ import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.event.EventImpl;
 import org.apache.webbeans.event.EventMetadataImpl;
 import org.apache.webbeans.exception.WebBeansException;
-import org.apache.webbeans.util.GenericsUtil;
 
 public class EventProducer<T> extends AbstractProducer<Event<T>>
 {
@@ -65,8 +63,8 @@ public class EventProducer<T> extends AbstractProducer<Event<T>>
             {
                 ParameterizedType arg = ParameterizedType.class.cast(event);
                 Type[] actualTypeArguments = arg.getActualTypeArguments();
-                if (actualTypeArguments.length > 0 && GenericsUtil.isAssignableFrom(
-                        true, false, actualTypeArguments[0], type, new HashMap<>()))
+                if (actualTypeArguments.length > 0 && webBeansContext.getTypeAssignabilityCache().isAssignableFrom(
+                        true, false, actualTypeArguments[0], type))
                 {
                     list.add(original);
                 }
@@ -20,9 +20,11 @@ package org.apache.webbeans.portable;
 
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansCreationException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.inject.CompiledInjector;
 import org.apache.webbeans.inject.InjectableConstructor;
 import org.apache.webbeans.inject.InjectableField;
 import org.apache.webbeans.inject.InjectableMethod;
@@ -114,6 +116,22 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
 
     private List<Interceptor<?>> aroundConstructInterceptors;
 
+    /**
+     * Whether the field and initializer method injection should use a {@link CompiledInjector}.
+     */
+    private final boolean compiledInjectors;
+
+    /**
+     * The CompiledInjector for the class of the injected instances.
+     * Gets built with the first injection after the deployment got validated.
+     */
+    private volatile CompiledInjector<T> compiledInjector;
+
+    /**
+     * {@code true} if some member can't be invoked via a MethodHandle, the reflection based injection gets used then.
+     */
+    private volatile boolean compiledInjectorUnsupported;
+
     public InjectionTargetImpl(AnnotatedType<T> annotatedType, Set<InjectionPoint> injectionPoints, WebBeansContext webBeansContext,
                                List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
     {
@@ -124,6 +142,7 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         this.webBeansContext = webBeansContext;
         this.postConstructMethods = postConstructMethods;
         this.preDestroyMethods = preDestroyMethods;
+        compiledInjectors = webBeansContext.getOpenWebBeansConfiguration().isCompiledInjectors();
     }
     
     @Override
@@ -204,9 +223,124 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
     @Override
     public void inject(T instance, CreationalContext<T> context)
     {
+        CompiledInjector<T> injector = getCompiledInjector(instance.getClass());
+        if (injector != null)
+        {
+            injector.inject(unwrapProxyInstance(instance), this, (CreationalContextImpl<T>) context);
+            return;
+        }
         inject(instance.getClass(), unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
     }
 
+    /**
+     * @return the CompiledInjector for the given class or {@code null} if the reflection based injection should be used
+     */
+    private CompiledInjector<T> getCompiledInjector(Class<?> type)
+    {
+        if (!compiledInjectors || compiledInjectorUnsupported)
+        {
+            return null;
+        }
+
+        CompiledInjector<T> injector = compiledInjector;
+        if (injector != null)
+        {
+            // an instance of another class (e.g. a subclass) gets injected via reflection
+            return injector.getType() == type ? injector : null;
+        }
+
+        if (webBeansContext.getBeanManagerImpl().getInjectionResolver().isStartup())
+        {
+            // the InjectionPoints might still resolve to other beans
+            return null;
+        }
+
+        injector = buildCompiledInjector(type);
+        if (injector == null)
+        {
+            compiledInjectorUnsupported = true;
+            return null;
+        }
+        compiledInjector = injector;
+        return injector;
+    }
+
+    /**
+     * Collects the same members in the same order as {@link #inject(Class, Object, CreationalContextImpl)}.
+     */
+    private CompiledInjector<T> buildCompiledInjector(Class<?> type)
+    {
+        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        CompiledInjector.Builder<T> builder = new CompiledInjector.Builder<>(webBeansContext, type);
+
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && !current.equals(Object.class); current = current.getSuperclass())
+        {
+            hierarchy.add(0, current);
+        }
+
+        for (Class<?> current : hierarchy)
+        {
+            for (InjectionPoint injectionPoint : getInjectionPoints())
+            {
+                if (injectionPoint.getMember().getDeclaringClass().equals(current) && injectionPoint.getMember() instanceof Field)
+                {
+                    Bean<?> injectedBean = injectionPoint.isDelegate() ? null : injectionResolver.getInjectionPointBean(injectionPoint);
+                    if (!builder.addField((Field) injectionPoint.getMember(), injectionPoint, injectedBean))
+                    {
+                        return null;
+                    }
+                }
+            }
+
+            Set<Member> injectedMethods = new HashSet<>();
+            for (InjectionPoint injectionPoint : getInjectionPoints())
+            {
+                Member member = injectionPoint.getMember();
+                if (member.getDeclaringClass().equals(current)
+                        && member instanceof Method
+                        && !injectedMethods.contains(member)
+                        && !isProducerMethod(injectionPoint)
+                        && !isDisposalMethod(injectionPoint)
+                        && !isObserverMethod(injectionPoint))
+                {
+                    Method method = (Method) member;
+                    InjectionPoint[] parameters = new InjectionPoint[method.getParameterCount()];
+                    Bean<?>[] injectedBeans = new Bean<?>[parameters.length];
+                    for (InjectionPoint parameter : getInjectionPoints())
+                    {
+                        if (parameter.getMember().equals(method))
+                        {
+                            int position = ((AnnotatedParameter<?>) parameter.getAnnotated()).getPosition();
+                            parameters[position] = parameter;
+                            injectedBeans[position] = parameter.isDelegate() ? null : injectionResolver.getInjectionPointBean(parameter);
+                        }
+                    }
+                    if (asList(parameters).contains(null) || !builder.addMethod(method, parameters, injectedBeans))
+                    {
+                        return null;
+                    }
+                    injectedMethods.add(member);
+                }
+            }
+
+            for (AnnotatedMethod<? super T> method : webBeansContext.getAnnotatedElementFactory().getFilteredAnnotatedMethods(annotatedType))
+            {
+                if (method.getDeclaringType().getJavaClass().equals(current) && method.isAnnotationPresent(Inject.class) && method.getParameters().isEmpty())
+                {
+                    if (!builder.addMethod(method.getJavaMember(), new InjectionPoint[0], new Bean<?>[0]))
+                    {
+                        return null;
+                    }
+                }
+            }
+
+            builder.addCallback(instance -> injectResources((T) instance));
+        }
+
+        return builder.build();
+    }
+
     private void inject(Class<?> type, T instance, CreationalContextImpl<T> context)
     {
         if (type == null || type.equals(Object.class))
@@ -29,12 +29,15 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.hash.XxHash64;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.DefiningClassService;
 import org.apache.xbean.asm9.ClassReader;
 import org.apache.xbean.asm9.ClassWriter;
@@ -59,12 +62,15 @@ public abstract class AbstractProxyFactory
      */
     public static final int MODIFIER_VARARGS = 0x00000080;
 
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AbstractProxyFactory.class);
+
     protected final Unsafe unsafe;
 
     private final DefiningClassService definingService;
 
     private final boolean useStaticNames;
     private final boolean useXXhash64;
+    private final boolean usePreGenerated;
 
     protected WebBeansContext webBeansContext;
 
@@ -84,9 +90,13 @@ public abstract class AbstractProxyFactory
         this.webBeansContext = webBeansContext;
         javaVersion = determineDefaultJavaVersion();
         definingService = webBeansContext.getService(DefiningClassService.class);
-        useStaticNames = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
+        usePreGenerated = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
+                .getProperty(OpenWebBeansConfiguration.PROXY_PRE_GENERATED));
+
+        // pre-generated proxies are looked up by their hashed static name, so this implies both flags
+        useStaticNames = usePreGenerated || Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
                 .getProperty("org.apache.webbeans.proxy.useStaticNames"));
-        useXXhash64 = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
+        useXXhash64 = usePreGenerated || Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
                 .getProperty("org.apache.webbeans.proxy.staticNames.useXxHash64"));
         unsafe = definingService == null ? new Unsafe() : null;
     }
@@ -314,6 +324,15 @@ public abstract class AbstractProxyFactory
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
     {
+        if (usePreGenerated)
+        {
+            Class<T> preGenerated = loadPreGeneratedProxyClass(classLoader, proxyClassName, classToProxy);
+            if (preGenerated != null)
+            {
+                return preGenerated;
+            }
+        }
+
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
         byte[] proxyBytes = generateProxy(classLoader,
@@ -331,6 +350,39 @@ public abstract class AbstractProxyFactory
         return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
     }
 
+    /**
+     * Try to load a proxy class which got generated at build time, e.g. via {@link ProxyPreGenerator}.
+     * The proxy name contains the hash of the proxied methods, thus any change in the proxied class
+     * or in the interception model leads to a different name and we simply don't find it.
+     *
+     * @return the pre-generated proxy class or {@code null} if the proxy needs to get generated at runtime
+     */
+    private <T> Class<T> loadPreGeneratedProxyClass(ClassLoader classLoader, String proxyClassName, Class<T> classToProxy)
+    {
+        ClassLoader loader = definingService != null ? definingService.getProxyClassLoader(classToProxy) : classLoader;
+        if (loader == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            Class<?> proxyClass = Class.forName(proxyClassName, true, loader);
+            if (classToProxy.isAssignableFrom(proxyClass) && getMarkerInterface().isAssignableFrom(proxyClass))
+            {
+                return (Class<T>) proxyClass;
+            }
+
+            logger.warning("Ignoring pre-generated proxy " + proxyClassName + " as it doesn't match " + classToProxy.getName());
+        }
+        catch (ClassNotFoundException | NoClassDefFoundError e)
+        {
+            // not pre-generated or outdated, we generate it at runtime
+            logger.fine("No pre-generated proxy found for " + classToProxy.getName() + ", generating " + proxyClassName);
+        }
+        return null;
+    }
+
     protected  <T> T newInstance(final Class<? extends T> proxyClass)
     {
         if (unsafe != null)
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Provider;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.exception.ProxyGenerationException;
+import org.apache.webbeans.intercept.ApplicationScopedBeanInterceptorHandler;
+import org.apache.webbeans.util.ExceptionUtil;
+import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.Label;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Opcodes;
+import org.apache.xbean.asm9.Type;
+
+/**
+ * Normal scope proxies for beans with a single contextual instance per application,
+ * e.g. &#064;ApplicationScoped beans or custom scopes mapped to
+ * {@link org.apache.webbeans.intercept.ApplicationScopedBeanInterceptorHandler}.
+ *
+ * The generated proxy stores the contextual instance in a field after the first resolution:
+ *
+ * <pre>
+ * Object instance = this.owbCachedInstance;
+ * if (instance == null)
+ * {
+ *     instance = this.owbContextualInstanceProvider.get();
+ *     this.owbCachedInstance = instance;
+ * }
+ * return ((MyBean) instance).myMethod(params);
+ * </pre>
+ *
+ * So the hot path is a plain field read the JIT can inline through instead of a call to the Provider.
+ * All proxies get tracked and their cached instances get dropped via {@link #invalidateCachedInstances()}
+ * when the application context gets destroyed.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_CACHED_INSTANCE
+ */
+public class CachedInstanceNormalScopeProxyFactory extends NormalScopeProxyFactory
+{
+    /** the name of the field which caches the Contextual Instance */
+    public static final String FIELD_CACHED_INSTANCE = "owbCachedInstance";
+
+    /**
+     * weak as the proxies are also injected into beans we don't control the lifecycle of
+     */
+    private final Set<Reference<Object>> proxies = ConcurrentHashMap.newKeySet();
+
+    /**
+     * the references of the garbage collected proxies, they get dropped from {@link #proxies} on the next add
+     */
+    private final ReferenceQueue<Object> collectedProxies = new ReferenceQueue<>();
+
+    public CachedInstanceNormalScopeProxyFactory(WebBeansContext webBeansContext)
+    {
+        super(webBeansContext, false);
+    }
+
+    @Override
+    protected String getProxyClassSuffix()
+    {
+        return "$$OwbCachedNormalScopeProxy";
+    }
+
+    @Override
+    public <T> T createProxyInstance(Class<T> proxyClass, Provider provider) throws ProxyGenerationException
+    {
+        T proxy = super.createProxyInstance(proxyClass, provider);
+
+        Reference<?> collected;
+        while ((collected = collectedProxies.poll()) != null)
+        {
+            proxies.remove(collected);
+        }
+        proxies.add(new WeakReference<>(proxy, collectedProxies));
+        return proxy;
+    }
+
+    @Override
+    public void invalidateCachedInstances()
+    {
+        for (Reference<Object> reference : proxies)
+        {
+            Object proxy = reference.get();
+            if (proxy == null)
+            {
+                proxies.remove(reference);
+                continue;
+            }
+
+            try
+            {
+                Field cachedInstanceField = proxy.getClass().getDeclaredField(FIELD_CACHED_INSTANCE);
+                cachedInstanceField.setAccessible(true);
+                cachedInstanceField.set(proxy, null);
+
+                // the handler caches the instance as well, otherwise the proxy would get the destroyed one again
+                Field providerField = proxy.getClass().getDeclaredField(FIELD_INSTANCE_PROVIDER);
+                providerField.setAccessible(true);
+                Object provider = providerField.get(proxy);
+                if (provider instanceof ApplicationScopedBeanInterceptorHandler)
+                {
+                    ((ApplicationScopedBeanInterceptorHandler) provider).clearCachedInstance();
+                }
+            }
+            catch (Exception e)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
+    {
+        super.createInstanceVariables(cw, classToProxy, classFileName);
+
+        // variable #3, the cached Contextual Instance
+        cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_TRANSIENT,
+                FIELD_CACHED_INSTANCE, Type.getDescriptor(Object.class), null, null).visitEnd();
+    }
+
+    @Override
+    protected void loadContextualInstance(MethodVisitor mv, String proxyClassFileName)
+    {
+        Label resolved = new Label();
+
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_CACHED_INSTANCE, Type.getDescriptor(Object.class));
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitJumpInsn(Opcodes.IFNONNULL, resolved);
+
+        // first usage: resolve the instance via the Provider and store it
+        mv.visitInsn(Opcodes.POP);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        super.loadContextualInstance(mv, proxyClassFileName);
+        mv.visitInsn(Opcodes.DUP_X1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, proxyClassFileName, FIELD_CACHED_INSTANCE, Type.getDescriptor(Object.class));
+
+        mv.visitLabel(resolved);
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.intercept.ApplicationScopedBeanInterceptorHandler;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.ExceptionUtil;
@@ -59,6 +60,11 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     /** the Method[] for all protected methods. We need to invoke them via reflection. */
     public static final String FIELD_PROTECTED_METHODS = "owbProtectedMethods";
 
+    /**
+     * Only set if {@link OpenWebBeansConfiguration#PROXY_CACHED_INSTANCE} is enabled.
+     */
+    private final CachedInstanceNormalScopeProxyFactory cachedInstanceProxyFactory;
+
     /**
      * Caches the proxy classes for each bean.
      * We need this to prevent filling up the ClassLoaders by
@@ -67,8 +73,15 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
+    {
+        this(webBeansContext, Boolean.parseBoolean(
+                webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.PROXY_CACHED_INSTANCE)));
+    }
+
+    protected NormalScopeProxyFactory(WebBeansContext webBeansContext, boolean cachedInstanceProxies)
     {
         super(webBeansContext);
+        cachedInstanceProxyFactory = cachedInstanceProxies ? new CachedInstanceNormalScopeProxyFactory(webBeansContext) : null;
     }
 
     @Override
@@ -142,6 +155,17 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             classToProxy = (Class<T>) bean.getBeanClass();
         }
 
+        Provider provider = getInstanceProvider(classLoader, bean);
+        if (cachedInstanceProxyFactory != null && provider instanceof ApplicationScopedBeanInterceptorHandler)
+        {
+            return cachedInstanceProxyFactory.createNormalScopeProxy(bean, classLoader, classToProxy, provider);
+        }
+
+        return createNormalScopeProxy(bean, classLoader, classToProxy, provider);
+    }
+
+    protected <T> T createNormalScopeProxy(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy, Provider provider)
+    {
         Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
 
         if (proxyClass == null)
@@ -149,7 +173,21 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             proxyClass = createProxyClass(bean, classLoader, classToProxy);
         }
 
-        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+        return createProxyInstance(proxyClass, provider);
+    }
+
+    /**
+     * Drops the contextual instances cached inside of the proxies.
+     * This must be invoked whenever the contexts of the cached instances get destroyed.
+     *
+     * @see OpenWebBeansConfiguration#PROXY_CACHED_INSTANCE
+     */
+    public void invalidateCachedInstances()
+    {
+        if (cachedInstanceProxyFactory != null)
+        {
+            cachedInstanceProxyFactory.invalidateCachedInstances();
+        }
     }
 
     public Provider getInstanceProvider(ClassLoader classLoader, Bean<?> bean)
@@ -258,7 +296,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
         String proxyClassName = getUnusedProxyClassName(
                 classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbNormalScopeProxy",
+                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + getProxyClassSuffix(),
                 interceptedMethods, nonInterceptedMethods);
 
         Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
@@ -279,6 +317,11 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         return clazz;
     }
 
+    protected String getProxyClassSuffix()
+    {
+        return "$$OwbNormalScopeProxy";
+    }
+
     public <T> T createProxyInstance(Class<T> proxyClass, Provider provider)
             throws ProxyGenerationException
     {
@@ -402,12 +445,8 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             // fill method body
             mv.visitCode();
 
-            // load the contextual instance Provider
-            mv.visitVarInsn(Opcodes.ALOAD, 0);
-            mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
-
-            // invoke the get() method on the Provider
-            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+            // load the contextual instance
+            loadContextualInstance(mv, proxyClassFileName);
 
             // and convert the Object to the target class type
             mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(classToProxy));
@@ -437,6 +476,17 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
     }
 
+    /**
+     * Generates the bytecode which pushes the contextual instance onto the stack.
+     * By default this invokes the get() method of the contextual instance Provider.
+     */
+    protected void loadContextualInstance(MethodVisitor mv, String proxyClassFileName)
+    {
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+    }
+
     private boolean isIgnoredMethod(final Method delegatedMethod)
     {
         return "writeReplace".equals(delegatedMethod.getName());
@@ -472,12 +522,8 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         mv.visitInsn(Opcodes.AALOAD);
 
 
-        // now invoke the get() on the contextual instance Provider<T>
-        mv.visitVarInsn(Opcodes.ALOAD, 0);
-        mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
-
-        // invoke the get() method on the Provider
-        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+        // now load the contextual instance
+        loadContextualInstance(mv, proxyClassFileName);
 
 
         // prepare the parameter array as Object[] and store it on the stack
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.config.WebBeansFinder;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.spi.DefiningClassService;
+
+/**
+ * Build time companion of {@link OpenWebBeansConfiguration#PROXY_PRE_GENERATED}.
+ *
+ * It boots the container on the current classpath, generates the interceptor/decorator proxies
+ * and the normal scope proxies of all beans and dumps their bytecode into the given directory.
+ * The proxies get generated with static, hash based names so the runtime can pick them up
+ * instead of generating them again.
+ *
+ * Can be used from maven with the exec-maven-plugin ({@code java} goal) or from gradle
+ * with a {@code JavaExec} task (see openwebbeans-gradle), in both cases the only argument is the output directory,
+ * typically the compiled classes directory.
+ */
+public final class ProxyPreGenerator
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ProxyPreGenerator.class);
+
+    private ProxyPreGenerator()
+    {
+        // no-op
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args == null || args.length != 1)
+        {
+            throw new IllegalArgumentException("Usage: " + ProxyPreGenerator.class.getName() + " <output directory>");
+        }
+
+        Path output = Paths.get(args[0]);
+        Map<String, byte[]> proxies = generate(Thread.currentThread().getContextClassLoader(), new Properties());
+        for (Map.Entry<String, byte[]> proxy : proxies.entrySet())
+        {
+            Path target = output.resolve(proxy.getKey().replace('.', '/') + ".class");
+            Files.createDirectories(target.getParent());
+            Files.write(target, proxy.getValue());
+        }
+        logger.info("Pre-generated " + proxies.size() + " proxies in " + output);
+    }
+
+    /**
+     * Boots a container for the given classloader and collects the bytecode of all proxies.
+     *
+     * @param loader the classloader of the application
+     * @param configuration additional configuration for the container
+     * @return the bytecode of the generated proxies per class name
+     */
+    public static Map<String, byte[]> generate(ClassLoader loader, Properties configuration)
+    {
+        Properties properties = new Properties();
+        properties.putAll(configuration);
+        properties.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.Spy.class.getName());
+        properties.setProperty("org.apache.webbeans.proxy.useStaticNames", "true");
+        properties.setProperty("org.apache.webbeans.proxy.staticNames.useXxHash64", "true");
+
+        // we always want to generate, never to load an outdated proxy
+        properties.setProperty(OpenWebBeansConfiguration.PROXY_PRE_GENERATED, "false");
+
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try
+        {
+            WebBeansContext context = new WebBeansContext(null, properties);
+            DefaultSingletonService.class.cast(WebBeansFinder.getSingletonService()).register(loader, context);
+
+            Object startObj = new Object();
+            ContainerLifecycle lifecycle = context.getService(ContainerLifecycle.class);
+            lifecycle.startApplication(startObj);
+            try
+            {
+                // interceptor and decorator proxies got created during the deployment,
+                // normal scope proxies are lazy so we trigger them for all beans
+                BeanManagerImpl beanManager = context.getBeanManagerImpl();
+                NormalScopeProxyFactory normalScopeProxyFactory = context.getNormalScopeProxyFactory();
+                for (Bean<?> bean : beanManager.getBeans(Object.class, AnyLiteral.INSTANCE))
+                {
+                    if (beanManager.isNormalScope(bean.getScope()))
+                    {
+                        try
+                        {
+                            normalScopeProxyFactory.createNormalScopeProxy(bean);
+                        }
+                        catch (RuntimeException e)
+                        {
+                            logger.log(Level.WARNING, "Can't pre-generate the proxy of " + bean + ", it will get generated at runtime", e);
+                        }
+                    }
+                }
+
+                return new HashMap<>(ClassLoaderProxyService.Spy.class.cast(
+                        context.getService(DefiningClassService.class)).getProxies());
+            }
+            finally
+            {
+                lifecycle.stopApplication(startObj);
+            }
+        }
+        finally
+        {
+            WebBeansFinder.clearInstances(loader);
+            thread.setContextClassLoader(old);
+        }
+    }
+}
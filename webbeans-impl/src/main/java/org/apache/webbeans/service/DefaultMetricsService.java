@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * Records nothing. As {@link #isEnabled()} is a constant {@code false}
+ * the JIT removes the metrics code from the container hot paths.
+ */
+public final class DefaultMetricsService implements MetricsService
+{
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    @Override
+    public void beanInstanceCreated(Bean<?> bean, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void proxyResolutionMiss(Bean<?> bean)
+    {
+        // no-op
+    }
+
+    @Override
+    public void contextLookup(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void eventFired(Class<?> eventType)
+    {
+        // no-op
+    }
+
+    @Override
+    public void observerNotified(Class<?> eventType, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void interceptorChainInvoked(Method method, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void conversationStarted()
+    {
+        // no-op
+    }
+
+    @Override
+    public void conversationEnded()
+    {
+        // no-op
+    }
+
+    @Override
+    public void sessionStarted()
+    {
+        // no-op
+    }
+
+    @Override
+    public void sessionEnded()
+    {
+        // no-op
+    }
+}
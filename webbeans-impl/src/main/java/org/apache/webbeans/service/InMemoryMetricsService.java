@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * Keeps all metrics in memory and exposes them via JMX as
+ * {@code org.apache.webbeans:type=Metrics,context=<id of the WebBeansContext>}.
+ *
+ * Enable it with
+ * {@code org.apache.webbeans.spi.MetricsService=org.apache.webbeans.service.InMemoryMetricsService}.
+ */
+public class InMemoryMetricsService implements MetricsService, InMemoryMetricsServiceMXBean, Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(InMemoryMetricsService.class);
+
+    private final ConcurrentMap<Bean<?>, Timer> beanCreations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Bean<?>, LongAdder> proxyResolutionMisses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LongAdder> contextLookups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LongAdder> firedEvents = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Timer> observerNotifications = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Timer> interceptorChains = new ConcurrentHashMap<>();
+
+    private final LongAdder conversationsStarted = new LongAdder();
+    private final LongAdder conversationsEnded = new LongAdder();
+    private final LongAdder sessionsStarted = new LongAdder();
+    private final LongAdder sessionsEnded = new LongAdder();
+
+    private ObjectName objectName;
+
+    public InMemoryMetricsService(WebBeansContext webBeansContext)
+    {
+        try
+        {
+            ObjectName name = new ObjectName("org.apache.webbeans:type=Metrics,context="
+                    + Integer.toHexString(System.identityHashCode(webBeansContext)));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name))
+            {
+                server.registerMBean(this, name);
+                objectName = name;
+            }
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.WARNING, "Could not register the metrics MBean", e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void beanInstanceCreated(Bean<?> bean, long nanos)
+    {
+        beanCreations.computeIfAbsent(bean, k -> new Timer()).add(nanos);
+    }
+
+    @Override
+    public void proxyResolutionMiss(Bean<?> bean)
+    {
+        proxyResolutionMisses.computeIfAbsent(bean, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void contextLookup(Class<? extends Annotation> scope)
+    {
+        contextLookups.computeIfAbsent(scope, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void eventFired(Class<?> eventType)
+    {
+        firedEvents.computeIfAbsent(eventType, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void observerNotified(Class<?> eventType, long nanos)
+    {
+        observerNotifications.computeIfAbsent(eventType, k -> new Timer()).add(nanos);
+    }
+
+    @Override
+    public void interceptorChainInvoked(Method method, long nanos)
+    {
+        interceptorChains.computeIfAbsent(method, k -> new Timer()).add(nanos);
+    }
+
+    @Override
+    public void conversationStarted()
+    {
+        conversationsStarted.increment();
+    }
+
+    @Override
+    public void conversationEnded()
+    {
+        conversationsEnded.increment();
+    }
+
+    @Override
+    public void sessionStarted()
+    {
+        sessionsStarted.increment();
+    }
+
+    @Override
+    public void sessionEnded()
+    {
+        sessionsEnded.increment();
+    }
+
+    @Override
+    public Map<String, Long> getCounters()
+    {
+        Map<String, Long> counters = new TreeMap<>();
+        addTimers(counters, "beanCreation", beanCreations, bean -> bean.getBeanClass().getName());
+        addCounters(counters, "proxyResolutionMiss", proxyResolutionMisses, bean -> bean.getBeanClass().getName());
+        addCounters(counters, "contextLookup", contextLookups, Class::getName);
+        addCounters(counters, "eventFired", firedEvents, Class::getName);
+        addTimers(counters, "observer", observerNotifications, Class::getName);
+        addTimers(counters, "interceptorChain", interceptorChains,
+            method -> method.getDeclaringClass().getName() + "#" + method.getName());
+
+        long started = conversationsStarted.sum();
+        counters.put("conversations.started", started);
+        counters.put("conversations.active", started - conversationsEnded.sum());
+        started = sessionsStarted.sum();
+        counters.put("sessions.started", started);
+        counters.put("sessions.active", started - sessionsEnded.sum());
+        return counters;
+    }
+
+    @Override
+    public String dump()
+    {
+        StringBuilder dump = new StringBuilder();
+        getCounters().forEach((name, value) -> dump.append(name).append('=').append(value).append('\n'));
+        return dump.toString();
+    }
+
+    /**
+     * Resets all counters except the ones of the active conversations and sessions.
+     */
+    @Override
+    public void reset()
+    {
+        beanCreations.clear();
+        proxyResolutionMisses.clear();
+        contextLookups.clear();
+        firedEvents.clear();
+        observerNotifications.clear();
+        interceptorChains.clear();
+    }
+
+    @Override
+    public void close()
+    {
+        if (objectName != null)
+        {
+            try
+            {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            }
+            catch (Exception e)
+            {
+                logger.log(Level.FINE, "Could not unregister the metrics MBean", e);
+            }
+            objectName = null;
+        }
+    }
+
+    private static <K> void addCounters(Map<String, Long> counters, String category,
+                                        Map<K, LongAdder> values, Function<K, String> naming)
+    {
+        values.forEach((key, value) -> counters.merge(category + "[" + naming.apply(key) + "]", value.sum(), Long::sum));
+    }
+
+    private static <K> void addTimers(Map<String, Long> counters, String category,
+                                      Map<K, Timer> values, Function<K, String> naming)
+    {
+        values.forEach((key, timer) ->
+        {
+            String name = category + "[" + naming.apply(key) + "]";
+            counters.merge(name + ".count", timer.count.sum(), Long::sum);
+            counters.merge(name + ".nanos", timer.nanos.sum(), Long::sum);
+        });
+    }
+
+    private static final class Timer
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void add(long time)
+        {
+            count.increment();
+            nanos.add(time);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ContextAccessorTest extends AbstractUnitTest
+{
+    @Test
+    public void sameContextAsGetContext()
+    {
+        startContainer(Counter.class);
+
+        BeanManagerImpl bm = getWebBeansContext().getBeanManagerImpl();
+        for (Class<? extends Annotation> scope : new Class[]{ RequestScoped.class, ApplicationScoped.class, Dependent.class })
+        {
+            Supplier<Context> accessor = bm.getContextAccessor(scope);
+            assertSame(accessor, bm.getContextAccessor(scope));
+            assertSame(bm.getContext(scope), accessor.get());
+        }
+    }
+
+    @Test
+    public void followRequestContextLifecycle()
+    {
+        startContainer(Counter.class);
+
+        Counter counter = getInstance(Counter.class);
+        assertEquals(1, counter.increment());
+        assertEquals(2, counter.increment());
+
+        Supplier<Context> accessor = getWebBeansContext().getBeanManagerImpl().getContextAccessor(RequestScoped.class);
+        endContext(RequestScoped.class);
+        try
+        {
+            accessor.get();
+            fail("the request context is not active");
+        }
+        catch (ContextNotActiveException e)
+        {
+            // expected
+        }
+
+        startContext(RequestScoped.class);
+        assertEquals(1, counter.increment());
+    }
+
+    @RequestScoped
+    public static class Counter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.util.TypeLiteral;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ReferenceStrategyTest extends AbstractUnitTest
+{
+    @Test
+    public void reuseNormalScopedProxy()
+    {
+        startContainer(Service.class, Helper.class);
+
+        BeanManager bm = getBeanManager();
+        Bean<?> bean = getBean(Service.class);
+        CreationalContext<?> cc = bm.createCreationalContext(bean);
+
+        Object proxy = bm.getReference(bean, Service.class, cc);
+        assertSame(proxy, bm.getReference(bean, Service.class, cc));
+        assertSame(proxy, bm.getReference(bean, Object.class, cc));
+        assertSame(proxy, bm.getReference(bean, null, cc));
+        assertSame(proxy, bm.getReference(new SerializableBean<>(bean), Service.class, cc));
+        assertEquals("ok", ((Service) proxy).ping());
+
+        Bean<?> helper = getBean(Helper.class);
+        assertNotSame(bm.getReference(helper, Helper.class, bm.createCreationalContext(helper)),
+                bm.getReference(helper, Helper.class, bm.createCreationalContext(helper)));
+    }
+
+    @Test
+    public void checkBeanType()
+    {
+        startContainer(Service.class, Helper.class);
+
+        BeanManager bm = getBeanManager();
+        Bean<?> bean = getBean(Service.class);
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                bm.getReference(bean, String.class, bm.createCreationalContext(bean));
+                fail("String is not a bean type of the Service");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+
+        // producers don't get checked
+        Bean<?> producer = bm.resolve(bm.getBeans(new TypeLiteral<List<String>>() { }.getType()));
+        assertEquals("produced", ((List<?>) bm.getReference(producer, List.class, bm.createCreationalContext(producer))).get(0));
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String ping()
+        {
+            return "ok";
+        }
+    }
+
+    public static class Helper
+    {
+        @Produces
+        public List<String> produce()
+        {
+            return Collections.singletonList("produced");
+        }
+    }
+}
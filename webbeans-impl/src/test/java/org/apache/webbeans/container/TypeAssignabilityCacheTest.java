@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.webbeans.config.OwbParametrizedTypeImpl;
+import org.apache.webbeans.util.GenericsUtil;
+import org.junit.Test;
+
+public class TypeAssignabilityCacheTest
+{
+    public List<String> stringList;
+    public List<Integer> integerList;
+    public ArrayList<String> stringArrayList;
+
+    @Test
+    public void sameResultsAsGenericsUtil() throws Exception
+    {
+        TypeAssignabilityCache cache = new TypeAssignabilityCache(100);
+        Type[] types = new Type[]
+            {
+                List.class, ArrayList.class, Object.class,
+                type("stringList"), type("integerList"), type("stringArrayList")
+            };
+
+        for (int run = 0; run < 2; run++)
+        {
+            for (Type required : types)
+            {
+                for (Type bean : types)
+                {
+                    assertEquals(GenericsUtil.satisfiesDependency(false, false, required, bean, new HashMap<>()),
+                            cache.satisfiesDependency(false, false, required, bean));
+                    if (bean instanceof Class)
+                    {
+                        // the raw check only gets used with the bean class
+                        assertEquals(GenericsUtil.satisfiesDependencyRaw(false, false, required, bean, new HashMap<>()),
+                                cache.satisfiesDependencyRaw(false, false, required, bean));
+                    }
+                    assertEquals(GenericsUtil.isAssignableFrom(true, false, required, bean, new HashMap<>()),
+                            cache.isAssignableFrom(true, false, required, bean));
+                }
+            }
+        }
+        // 3 of the bean types are classes
+        assertEquals(2 * types.length * types.length + 3 * types.length, cache.size());
+    }
+
+    @Test
+    public void internOwbAndJdkTypes() throws Exception
+    {
+        TypeAssignabilityCache cache = new TypeAssignabilityCache(100);
+        Type jdkType = type("stringList");
+        Type owbType = new OwbParametrizedTypeImpl(null, List.class, String.class);
+
+        assertSame(owbType, cache.intern(owbType));
+        assertSame(owbType, cache.intern(jdkType));
+        assertSame(String.class, cache.intern(String.class));
+
+        assertTrue(cache.satisfiesDependency(false, false, owbType, type("stringList")));
+        assertTrue(cache.satisfiesDependency(false, false, jdkType, owbType));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void bounded() throws Exception
+    {
+        TypeAssignabilityCache cache = new TypeAssignabilityCache(2);
+        assertTrue(cache.isAssignableFrom(false, false, List.class, ArrayList.class));
+        assertFalse(cache.isAssignableFrom(false, false, ArrayList.class, List.class));
+        assertEquals(2, cache.size());
+
+        assertTrue(cache.isAssignableFrom(false, false, Object.class, List.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void disabled() throws Exception
+    {
+        TypeAssignabilityCache cache = new TypeAssignabilityCache(0);
+        Type owbType = new OwbParametrizedTypeImpl(null, List.class, String.class);
+        assertTrue(cache.satisfiesDependency(false, false, owbType, type("stringList")));
+        Type jdkType = type("stringList");
+        assertSame(jdkType, cache.intern(jdkType));
+        assertEquals(0, cache.size());
+    }
+
+    private static Type type(String field) throws NoSuchFieldException
+    {
+        return TypeAssignabilityCacheTest.class.getField(field).getGenericType();
+    }
+}
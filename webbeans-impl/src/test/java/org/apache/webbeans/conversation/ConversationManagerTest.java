@@ -21,12 +21,18 @@ package org.apache.webbeans.conversation;
 import static java.lang.Thread.sleep;
 import static org.apache.webbeans.util.Asserts.assertNotNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
@@ -76,4 +82,67 @@ public class ConversationManagerTest extends AbstractUnitTest
         contextsService.getCurrentContext(ConversationScoped.class); // trigger update
         assertNotEquals(beginTime, conversation2.getLastAccessTime());
     }
+
+    @Test
+    public void leastRecentlyUsedConversationGetsDestroyed() throws InterruptedException
+    {
+        addConfiguration(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+        addConfiguration(OpenWebBeansConfiguration.CONVERSATION_MAX_PER_SESSION, "2");
+        startContainer();
+
+        for (int i = 1; i <= 3; i++)
+        {
+            beginConversation("c" + i, 60000);
+            sleep(10); // distinct access times
+        }
+
+        ConversationStorage storage = getStorage();
+        assertEquals(2, storage.size());
+        assertNull(storage.get("c1"));
+        assertNotNull(storage.get("c2"));
+        assertNotNull(storage.get("c3"));
+    }
+
+    @Test
+    public void timedOutConversationGetsDestroyedInBackground() throws InterruptedException
+    {
+        addConfiguration(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+        addConfiguration(OpenWebBeansConfiguration.CONVERSATION_EXPIRY_INTERVAL, "10");
+        startContainer();
+
+        ConversationManager conversationManager = getWebBeansContext().getConversationManager();
+        assertTrue(conversationManager.hasBackgroundExpiry());
+
+        ConversationContext timingOut = beginConversation("short", 1);
+        beginConversation("long", 60000);
+        ConversationStorage storage = getStorage();
+
+        long end = System.currentTimeMillis() + 5000;
+        while (storage.contains(timingOut) && System.currentTimeMillis() < end)
+        {
+            sleep(10);
+        }
+
+        assertFalse(storage.contains(timingOut));
+        assertFalse(timingOut.isActive());
+        assertNotNull(storage.get("long"));
+    }
+
+    private ConversationContext beginConversation(String id, long timeout)
+    {
+        ConversationContext conversationContext = ConversationContext.class.cast(
+                getWebBeansContext().getContextsService().getCurrentContext(ConversationScoped.class));
+        conversationContext.getConversation().begin(id);
+        conversationContext.getConversation().setTimeout(timeout);
+
+        // the end of the request releases the conversation
+        restartContext(RequestScoped.class);
+        return conversationContext;
+    }
+
+    private ConversationStorage getStorage()
+    {
+        return (ConversationStorage) getWebBeansContext().getConversationManager().getSessionConversations(
+                getWebBeansContext().getContextsService().getCurrentContext(SessionScoped.class), false);
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.junit.Test;
+
+public class DefaultSingletonServiceTest
+{
+    @Test
+    public void oneContextPerClassLoader() throws Exception
+    {
+        DefaultSingletonService service = new DefaultSingletonService();
+        ClassLoader first = new URLClassLoader(new URL[0]);
+        ClassLoader second = new URLClassLoader(new URL[0]);
+
+        WebBeansContext context = service.get(first);
+        assertSame(context, service.get(first));
+        assertNotSame(context, service.get(second));
+        assertTrue(service.exists(first));
+
+        service.clear(first);
+        assertFalse(service.exists(first));
+        assertTrue(service.exists(second));
+        assertNotSame(context, service.get(first));
+    }
+
+    @Test
+    public void clearDropsLastHit()
+    {
+        DefaultSingletonService service = new DefaultSingletonService();
+        ClassLoader loader = new URLClassLoader(new URL[0]);
+
+        WebBeansContext context = service.get(loader);
+        assertSame(context, service.get(loader));
+
+        service.clear(loader);
+        WebBeansContext newContext = service.get(loader);
+        assertNotSame(context, newContext);
+        assertSame(newContext, service.get(loader));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerTwice()
+    {
+        DefaultSingletonService service = new DefaultSingletonService();
+        ClassLoader loader = new URLClassLoader(new URL[0]);
+        service.register(loader, service.get(loader));
+    }
+
+    @Test
+    public void concurrentCreation() throws Exception
+    {
+        DefaultSingletonService service = new DefaultSingletonService();
+        ClassLoader loader = new URLClassLoader(new URL[0]);
+        ExecutorService es = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Callable<WebBeansContext>> tasks = new ArrayList<>();
+            for (int i = 0; i < 16; i++)
+            {
+                tasks.add(() -> service.get(loader));
+            }
+            List<Future<WebBeansContext>> contexts = es.invokeAll(tasks);
+            for (Future<WebBeansContext> context : contexts)
+            {
+                assertSame(service.get(loader), context.get());
+            }
+        }
+        finally
+        {
+            es.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScanIndexTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void reuseUnchangedArchive() throws IOException
+    {
+        Path indexFile = temp.getRoot().toPath().resolve("owb.idx");
+        URL jar = createJar("test.jar", "org/foo/Bar.class");
+
+        ScanIndex index = ScanIndex.read(indexFile);
+        assertNull(index.lookup(jar, BeanDiscoveryMode.ANNOTATED, ""));
+        index.update(jar, BeanDiscoveryMode.ANNOTATED, "", asList(
+                new ScanIndex.IndexedClass("org.foo.Bar", singletonList("javax.enterprise.context.ApplicationScoped")),
+                new ScanIndex.IndexedClass("org.foo.Baz", emptyList())));
+        index.write();
+
+        ScanIndex.IndexedArchive indexed = ScanIndex.read(indexFile).lookup(jar, BeanDiscoveryMode.ANNOTATED, "");
+        assertNotNull(indexed);
+        assertEquals(2, indexed.getClasses().size());
+        assertEquals("org.foo.Bar", indexed.getClasses().get(0).getClassName());
+        assertEquals(singletonList("javax.enterprise.context.ApplicationScoped"), indexed.getClasses().get(0).getAnnotations());
+        assertEquals(emptyList(), indexed.getClasses().get(1).getAnnotations());
+    }
+
+    @Test
+    public void rescanChangedArchive() throws IOException
+    {
+        Path indexFile = temp.getRoot().toPath().resolve("owb.idx");
+        URL jar = createJar("test.jar", "org/foo/Bar.class");
+
+        ScanIndex index = ScanIndex.read(indexFile);
+        index.update(jar, BeanDiscoveryMode.ALL, "", singletonList(new ScanIndex.IndexedClass("org.foo.Bar", emptyList())));
+        index.write();
+
+        // discovery mode changed
+        assertNull(ScanIndex.read(indexFile).lookup(jar, BeanDiscoveryMode.ANNOTATED, ""));
+
+        // exclusions changed
+        assertNull(ScanIndex.read(indexFile).lookup(jar, BeanDiscoveryMode.ALL, "excludedPackages=[org.foo]"));
+
+        // content changed
+        File file = new File(jar.getFile());
+        createJar("test.jar", "org/foo/Bar.class", "org/foo/Other.class");
+        file.setLastModified(file.lastModified() + 2000);
+        assertNull(ScanIndex.read(indexFile).lookup(jar, BeanDiscoveryMode.ALL, ""));
+    }
+
+    @Test
+    public void dropRemovedArchives() throws IOException
+    {
+        Path indexFile = temp.getRoot().toPath().resolve("owb.idx");
+        URL first = createJar("first.jar", "org/foo/Bar.class");
+        URL second = createJar("second.jar", "org/foo/Baz.class");
+
+        ScanIndex index = ScanIndex.read(indexFile);
+        index.update(first, BeanDiscoveryMode.ALL, "", emptyList());
+        index.update(second, BeanDiscoveryMode.ALL, "", emptyList());
+        index.write();
+
+        // second start only knows the first archive
+        index = ScanIndex.read(indexFile);
+        assertNotNull(index.lookup(first, BeanDiscoveryMode.ALL, ""));
+        index.write();
+
+        index = ScanIndex.read(indexFile);
+        assertNotNull(index.lookup(first, BeanDiscoveryMode.ALL, ""));
+        assertNull(index.lookup(second, BeanDiscoveryMode.ALL, ""));
+    }
+
+    private URL createJar(String name, String... entries) throws IOException
+    {
+        File file = new File(temp.getRoot(), name);
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            for (String entry : entries)
+            {
+                outputStream.putNextEntry(new JarEntry(entry));
+                outputStream.write(new byte[]{0, 1, 2});
+                outputStream.closeEntry();
+            }
+        }
+        return file.toURI().toURL();
+    }
+}
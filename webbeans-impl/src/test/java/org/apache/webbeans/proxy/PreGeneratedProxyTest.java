@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.junit.Test;
+
+public class PreGeneratedProxyTest
+{
+    @Test
+    public void loadPreGeneratedProxy()
+    {
+        Map.Entry<String, byte[]> proxy = generateAtBuildTime();
+        PreGeneratedClassLoader loader = new PreGeneratedClassLoader(proxy.getKey(), proxy.getValue());
+
+        Class<MyBean> proxyClass = newRuntimeFactory().createProxyClass(loader, MyBean.class);
+
+        assertEquals(proxy.getKey(), proxyClass.getName());
+        assertSame(loader.loaded, proxyClass);
+    }
+
+    @Test
+    public void fallbackToRuntimeGeneration()
+    {
+        Map.Entry<String, byte[]> proxy = generateAtBuildTime();
+
+        // simulates a proxy generated for an older version of the class
+        PreGeneratedClassLoader loader = new PreGeneratedClassLoader(proxy.getKey() + "1", proxy.getValue());
+
+        Class<MyBean> proxyClass = newRuntimeFactory().createProxyClass(loader, MyBean.class);
+
+        assertEquals(proxy.getKey(), proxyClass.getName());
+        assertNotSame(loader.loaded, proxyClass);
+        assertTrue(OwbNormalScopeProxy.class.isAssignableFrom(proxyClass));
+    }
+
+    private Map.Entry<String, byte[]> generateAtBuildTime()
+    {
+        Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.Spy.class.getName());
+        config.setProperty("org.apache.webbeans.proxy.useStaticNames", "true");
+        config.setProperty("org.apache.webbeans.proxy.staticNames.useXxHash64", "true");
+        WebBeansContext context = new WebBeansContext(emptyMap(), config);
+        new NormalScopeProxyFactory(context).createProxyClass(Thread.currentThread().getContextClassLoader(), MyBean.class);
+
+        Map<String, byte[]> proxies = ClassLoaderProxyService.Spy.class.cast(context.getService(DefiningClassService.class)).getProxies();
+        assertEquals(1, proxies.size());
+        return proxies.entrySet().iterator().next();
+    }
+
+    private NormalScopeProxyFactory newRuntimeFactory()
+    {
+        Properties config = new Properties();
+        config.setProperty(OpenWebBeansConfiguration.PROXY_PRE_GENERATED, "true");
+        return new NormalScopeProxyFactory(new WebBeansContext(emptyMap(), config));
+    }
+
+    public static class MyBean
+    {
+        public String ok(final String value)
+        {
+            return ">" + value + "<";
+        }
+    }
+
+    private static class PreGeneratedClassLoader extends ClassLoader
+    {
+        private final String name;
+        private final byte[] bytecode;
+        private Class<?> loaded;
+
+        private PreGeneratedClassLoader(String name, byte[] bytecode)
+        {
+            super(PreGeneratedProxyTest.class.getClassLoader());
+            this.name = name;
+            this.bytecode = bytecode;
+        }
+
+        @Override
+        protected Class<?> findClass(String className) throws ClassNotFoundException
+        {
+            if (name.equals(className))
+            {
+                loaded = defineClass(null, bytecode, 0, bytecode.length);
+                return loaded;
+            }
+            return super.findClass(className);
+        }
+    }
+}
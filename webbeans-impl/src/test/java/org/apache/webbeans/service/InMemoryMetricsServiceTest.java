@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class InMemoryMetricsServiceTest extends AbstractUnitTest
+{
+    @Test
+    public void disabledByDefault()
+    {
+        startContainer(Service.class);
+        assertTrue(getWebBeansContext().getMetricsService() instanceof DefaultMetricsService);
+        assertFalse(getWebBeansContext().getMetricsService().isEnabled());
+    }
+
+    @Test
+    public void recordHotPaths() throws Exception
+    {
+        addConfiguration(MetricsService.class.getName(), InMemoryMetricsService.class.getName());
+        addInterceptor(TimedInterceptor.class);
+        startContainer(Service.class, PingObserver.class);
+
+        InMemoryMetricsService metrics = (InMemoryMetricsService) getWebBeansContext().getMetricsService();
+        Service service = getInstance(Service.class);
+        service.ping();
+        service.ping();
+
+        Map<String, Long> counters = metrics.getCounters();
+        assertEquals(Long.valueOf(2), counters.get("observer[" + Ping.class.getName() + "].count"));
+        assertEquals(Long.valueOf(2), counters.get("eventFired[" + Ping.class.getName() + "]"));
+        assertEquals(Long.valueOf(2), counters.get("interceptorChain[" + Service.class.getName() + "#ping].count"));
+        assertEquals(Long.valueOf(1), counters.get("beanCreation[" + Service.class.getName() + "].count"));
+        assertTrue(counters.get("proxyResolutionMiss[" + Service.class.getName() + "]") >= 1);
+        assertTrue(counters.get("contextLookup[" + RequestScoped.class.getName() + "]") >= 1);
+        assertTrue(metrics.dump().contains("sessions.active="));
+
+        ObjectName name = new ObjectName("org.apache.webbeans:type=Metrics,context="
+                + Integer.toHexString(System.identityHashCode(getWebBeansContext())));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+        metrics.reset();
+        assertFalse(metrics.getCounters().containsKey("eventFired[" + Ping.class.getName() + "]"));
+
+        shutDownContainer();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Timed
+    {
+    }
+
+    @Timed
+    @Interceptor
+    public static class TimedInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @RequestScoped
+    public static class Service
+    {
+        @Inject
+        private Event<Ping> ping;
+
+        @Timed
+        public void ping()
+        {
+            ping.fire(new Ping());
+        }
+    }
+
+    public static class Ping
+    {
+    }
+
+    public static class PingObserver
+    {
+        void observe(@Observes Ping ping)
+        {
+            // just to have an observer
+        }
+    }
+}
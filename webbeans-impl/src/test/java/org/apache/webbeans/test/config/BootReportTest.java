@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BootReportTest extends AbstractUnitTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void writeReport() throws IOException
+    {
+        File report = new File(temp.getRoot(), "reports/boot.json");
+        PatCounter counter = new PatCounter();
+        addExtension(counter);
+        addConfiguration(OpenWebBeansConfiguration.BOOT_REPORT, report.getAbsolutePath());
+        startContainer(Service.class);
+
+        assertEquals(report.getAbsolutePath(), getWebBeansContext().getOpenWebBeansConfiguration().getBootReport());
+        assertTrue(counter.count.get() > 0);
+
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        for (String phase : new String[]{ "scanning", "boot", "annotatedTypes", "beans", "validation", "afterDeploymentValidation" })
+        {
+            assertTrue(phase, json.contains("{\"name\": \"" + phase + "\""));
+        }
+        assertTrue(json.contains("{\"class\": \"" + PatCounter.class.getName() + "\""));
+        assertTrue(json.contains("\"archives\": ["));
+    }
+
+    public static class PatCounter implements Extension
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        void pat(@Observes ProcessAnnotatedType<?> pat)
+        {
+            count.incrementAndGet();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.UnsatisfiedResolutionException;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.exception.WebBeansDeploymentException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ParallelBootstrapTest extends AbstractUnitTest
+{
+    @Test
+    public void parallelDeployment()
+    {
+        PatRecorder recorder = new PatRecorder();
+        addExtension(recorder);
+        addConfiguration(OpenWebBeansConfiguration.PARALLEL_BOOTSTRAP, "4");
+        startContainer(Greeter.class, Name.class, NameProducer.class);
+
+        assertEquals("Hello OWB", getInstance(Greeter.class).greet());
+        assertTrue(recorder.types.containsAll(asList(Greeter.class, Name.class, NameProducer.class)));
+        assertEquals(4, getWebBeansContext().getOpenWebBeansConfiguration().getParallelBootstrapThreads());
+    }
+
+    @Test
+    public void validationFailure()
+    {
+        // an explicit thread count, "true" would fall back to the serial deployment on a single CPU
+        addConfiguration(OpenWebBeansConfiguration.PARALLEL_BOOTSTRAP, "4");
+        try
+        {
+            // Name is no bean without its producer
+            startContainer(Greeter.class, Name.class);
+            fail("Greeter has an unsatisfied injection point");
+        }
+        catch (WebBeansConfigurationException e)
+        {
+            assertEquals(WebBeansDeploymentException.class, e.getCause().getClass());
+            assertEquals(UnsatisfiedResolutionException.class, e.getCause().getCause().getClass());
+        }
+    }
+
+    @Test
+    public void firstFailureInDeploymentOrder()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            addConfiguration(OpenWebBeansConfiguration.PARALLEL_BOOTSTRAP, "4");
+            try
+            {
+                // both greeters have an unsatisfied injection point
+                startContainer(Greeter.class, OtherGreeter.class, Name.class);
+                fail("Greeter has an unsatisfied injection point");
+            }
+            catch (WebBeansConfigurationException e)
+            {
+                // the serial validation would report the first of them in the iteration order of the beans
+                Class<?> first = getWebBeansContext().getBeanManagerImpl().getBeans().stream()
+                        .map(Bean::getBeanClass)
+                        .filter(type -> type == Greeter.class || type == OtherGreeter.class)
+                        .findFirst()
+                        .get();
+                assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("Bean Owner : [" + first.getSimpleName() + ","));
+            }
+            finally
+            {
+                shutDownContainer();
+            }
+        }
+    }
+
+    public static class PatRecorder implements Extension
+    {
+        private final List<Class<?>> types = new ArrayList<>();
+
+        void pat(@Observes ProcessAnnotatedType<?> pat)
+        {
+            // observers are never called concurrently
+            types.add(pat.getAnnotatedType().getJavaClass());
+        }
+    }
+
+    @ApplicationScoped
+    public static class Greeter
+    {
+        @Inject
+        private Name name;
+
+        public String greet()
+        {
+            return "Hello " + name.getValue();
+        }
+    }
+
+    @ApplicationScoped
+    public static class OtherGreeter
+    {
+        @Inject
+        private Name name;
+    }
+
+    public static class Name
+    {
+        private final String value;
+
+        // no default constructor, only available through the producer
+        public Name(String value)
+        {
+            this.value = value;
+        }
+
+        public String getValue()
+        {
+            return value;
+        }
+    }
+
+    public static class NameProducer
+    {
+        @Produces
+        public Name produce()
+        {
+            return new Name("OWB");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.Serializable;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class CompactSessionStorageTest extends AbstractUnitTest
+{
+    @Test
+    public void compactAndRestoreLazily() throws Exception
+    {
+        startContainer(Cart.class);
+        Bean<Cart> bean = getBean(Cart.class);
+        SessionContext sessionContext = (SessionContext) getBeanManager().getContext(SessionScoped.class);
+
+        Cart cart = sessionContext.get(bean, getBeanManager().createCreationalContext(bean));
+        cart.items = 3;
+
+        sessionContext.compact();
+        assertEquals(1, sessionContext.getSerializedInstanceCount());
+
+        Cart restored = sessionContext.get(bean);
+        assertNotNull(restored);
+        assertNotSame(cart, restored);
+        assertEquals(3, restored.items);
+        assertEquals(0, sessionContext.getSerializedInstanceCount());
+
+        // compacted instances get written and read without deserializing them
+        sessionContext.compact();
+        SessionContext deserialized = (SessionContext) SerializationTest.deSerializeObject(
+            SerializationTest.serializeObject(sessionContext));
+        deserialized.setActive(true);
+        assertEquals(1, deserialized.getSerializedInstanceCount());
+        assertEquals(3, deserialized.get(bean).items);
+
+        // destroying the context also destroys the instances which are still serialized
+        Cart.destroyed = 0;
+        sessionContext.destroy();
+        assertEquals(1, Cart.destroyed);
+    }
+
+    @SessionScoped
+    public static class Cart implements Serializable
+    {
+        static int destroyed;
+
+        int items;
+
+        @PreDestroy
+        void destroy()
+        {
+            destroyed++;
+        }
+    }
+}
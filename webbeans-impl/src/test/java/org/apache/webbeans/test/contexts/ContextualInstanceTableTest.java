@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.context.ConcurrentContextualInstanceTable;
+import org.apache.webbeans.context.ContextualInstanceTable;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ContextualInstanceTableTest extends AbstractUnitTest
+{
+    @Test
+    public void slotsAndFallback()
+    {
+        startContainer(First.class, Second.class);
+        verify(new ContextualInstanceTable());
+        verify(new ConcurrentContextualInstanceTable());
+    }
+
+    @Test
+    public void putIfAbsent()
+    {
+        startContainer(First.class, Second.class);
+        ConcurrentMap<Contextual<?>, BeanInstanceBag<?>> table = new ConcurrentContextualInstanceTable();
+        AbstractOwbBean<?> first = (AbstractOwbBean<?>) getBean(First.class);
+
+        BeanInstanceBag<?> bag = newBag(first);
+        assertNull(table.putIfAbsent(first, bag));
+        assertSame(bag, table.putIfAbsent(first, newBag(first)));
+    }
+
+    private void verify(Map<Contextual<?>, BeanInstanceBag<?>> table)
+    {
+        AbstractOwbBean<?> first = (AbstractOwbBean<?>) getBean(First.class);
+        AbstractOwbBean<?> second = (AbstractOwbBean<?>) getBean(Second.class);
+        assertTrue(first.getContextSlot() >= 0);
+        assertNotEquals(first.getContextSlot(), second.getContextSlot());
+
+        // stored before it got a slot, like beans created during the deployment
+        int secondSlot = second.getContextSlot();
+        second.setContextSlot(-1);
+        BeanInstanceBag<?> unslotted = newBag(second);
+        table.put(second, unslotted);
+        second.setContextSlot(secondSlot);
+        assertSame(unslotted, table.get(second));
+
+        BeanInstanceBag<?> firstBag = newBag(first);
+        BeanInstanceBag<?> secondBag = newBag(second);
+        assertNull(table.put(first, firstBag));
+        assertSame(unslotted, table.put(second, secondBag));
+        assertEquals(2, table.size());
+        assertSame(firstBag, table.get(first));
+        assertSame(secondBag, table.get(second));
+
+        Set<Contextual<?>> keys = new HashSet<>(table.keySet());
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains(first));
+        assertTrue(keys.contains(second));
+
+        assertSame(firstBag, table.remove(first));
+        assertNull(table.get(first));
+        assertEquals(1, table.size());
+
+        table.clear();
+        assertNull(table.get(second));
+        assertEquals(0, table.size());
+    }
+
+    private static <T> BeanInstanceBag<T> newBag(AbstractOwbBean<T> bean)
+    {
+        return new BeanInstanceBag<>(bean.getWebBeansContext().getBeanManagerImpl().createCreationalContext(bean));
+    }
+
+    @SessionScoped
+    public static class First implements Serializable
+    {
+    }
+
+    @SessionScoped
+    public static class Second implements Serializable
+    {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class RequestContextPoolTest extends AbstractUnitTest
+{
+    @Test
+    public void pooledContextGetsReset()
+    {
+        addConfiguration(OpenWebBeansConfiguration.REQUEST_CONTEXT_POOL_SIZE, "4");
+        startContainer(Counter.class);
+        Counter.destroyed = 0;
+
+        Context firstContext = getBeanManager().getContext(RequestScoped.class);
+        Counter counter = getInstance(Counter.class);
+        long firstId = counter.id();
+        assertEquals(firstId, counter.id());
+
+        restartContext(RequestScoped.class);
+        assertEquals(1, Counter.destroyed);
+
+        Context secondContext = getBeanManager().getContext(RequestScoped.class);
+        assertSame(firstContext, secondContext);
+        assertNotEquals(firstId, counter.id());
+    }
+
+    @RequestScoped
+    public static class Counter
+    {
+        private static int destroyed;
+        private static long nextId;
+
+        private final long id = ++nextId;
+
+        public long id()
+        {
+            return id;
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed++;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.event.VirtualThreadExecutor;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VirtualThreadObserversAsyncTest extends AbstractUnitTest
+{
+    @Before
+    public void requireVirtualThreads()
+    {
+        Assume.assumeTrue("requires Java 21", VirtualThreadExecutor.create() != null);
+        addConfiguration(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR, "virtual");
+        startContainer(Observers.class, RequestBean.class);
+    }
+
+    @Test
+    public void observersRunOnVirtualThreadsWithOwnRequestContext() throws Exception
+    {
+        assertSame(VirtualThreadExecutor.class,
+                getWebBeansContext().getNotificationManager().getDefaultNotificationOptions().getExecutor().getClass());
+
+        RequestBean callerRequestBean = getInstance(RequestBean.class);
+        int callerRequestId = callerRequestBean.id();
+
+        Observers observers = getInstance(Observers.class);
+        getBeanManager().getEvent().select(Ping.class).fireAsync(new Ping())
+                .toCompletableFuture().get(20, TimeUnit.SECONDS);
+
+        assertEquals(2, observers.getThreads().size());
+        for (Thread thread : observers.getThreads())
+        {
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        }
+
+        // each observer had its own request context, the one of the caller is untouched
+        assertEquals(2, observers.getRequestIds().size());
+        assertTrue(!observers.getRequestIds().contains(callerRequestId));
+        assertEquals(callerRequestId, callerRequestBean.id());
+        assertNotEquals(Thread.currentThread(), observers.getThreads().iterator().next());
+    }
+
+    @Test
+    public void closeWaitsForRunningTasks()
+    {
+        VirtualThreadExecutor executor = VirtualThreadExecutor.create();
+        AtomicBoolean done = new AtomicBoolean();
+        executor.execute(() ->
+        {
+            try
+            {
+                Thread.sleep(200);
+                done.set(true);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        executor.close();
+        assertTrue(done.get());
+        try
+        {
+            executor.execute(() -> {});
+            fail("the executor is closed");
+        }
+        catch (RejectedExecutionException e)
+        {
+            // expected
+        }
+    }
+
+    public static class Ping
+    {
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        public int id()
+        {
+            return System.identityHashCode(this);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Observers
+    {
+        private final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+        private final Set<Integer> requestIds = Collections.synchronizedSet(new HashSet<>());
+
+        @Inject
+        private RequestBean requestBean;
+
+        public void first(@ObservesAsync Ping ping)
+        {
+            record();
+        }
+
+        public void second(@ObservesAsync Ping ping)
+        {
+            record();
+        }
+
+        private void record()
+        {
+            threads.add(Thread.currentThread());
+            requestIds.add(requestBean.id());
+        }
+
+        public Set<Thread> getThreads()
+        {
+            return threads;
+        }
+
+        public Set<Integer> getRequestIds()
+        {
+            return requestIds;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.apache.webbeans.event.BatchEvent;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class BatchEventTest extends AbstractUnitTest
+{
+    @Test
+    public void fireAll()
+    {
+        startContainer(Producer.class, Listener.class);
+        Listener listener = getInstance(Listener.class);
+
+        BatchEvent<Record> event = getInstance(Producer.class).getEvent();
+        event.fireAll(Arrays.asList(new Record("a"), new Record("b"), new SpecialRecord("c")));
+
+        // each observer gets all events of a type before the next observer, in the order of the priority
+        assertEquals(Arrays.asList("first:a", "first:b", "second:a", "second:b", "first:c", "special:c", "second:c"),
+                listener.getCalls());
+
+        // the whole batch once, but not to observers of Object
+        assertEquals(1, listener.getBatches().size());
+        assertEquals(3, listener.getBatches().get(0).size());
+        assertEquals(0, listener.getObjects());
+    }
+
+    @Test
+    public void emptyBatch()
+    {
+        startContainer(Producer.class, Listener.class);
+        Listener listener = getInstance(Listener.class);
+
+        getInstance(Producer.class).getEvent().fireAll(new ArrayList<>());
+
+        assertTrue(listener.getCalls().isEmpty());
+        assertTrue(listener.getBatches().isEmpty());
+    }
+
+    public static class Record
+    {
+        private final String name;
+
+        public Record(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
+    public static class SpecialRecord extends Record
+    {
+        public SpecialRecord(String name)
+        {
+            super(name);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Producer
+    {
+        @Inject
+        private Event<Record> event;
+
+        public BatchEvent<Record> getEvent()
+        {
+            return (BatchEvent<Record>) event;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Listener
+    {
+        private final List<String> calls = new ArrayList<>();
+        private final List<List<Record>> batches = new ArrayList<>();
+        private int objects;
+
+        public void first(@Observes @Priority(100) Record record)
+        {
+            calls.add("first:" + record.getName());
+        }
+
+        public void special(@Observes @Priority(200) SpecialRecord record)
+        {
+            calls.add("special:" + record.getName());
+        }
+
+        public void second(@Observes @Priority(300) Record record)
+        {
+            calls.add("second:" + record.getName());
+        }
+
+        public void batch(@Observes List<Record> records)
+        {
+            batches.add(records);
+        }
+
+        public void object(@Observes Object object)
+        {
+            if (object instanceof List)
+            {
+                objects++;
+            }
+        }
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+
+        public List<List<Record>> getBatches()
+        {
+            return batches;
+        }
+
+        public int getObjects()
+        {
+            return objects;
+        }
+    }
+}
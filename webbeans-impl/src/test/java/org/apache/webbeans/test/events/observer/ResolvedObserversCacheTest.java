@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Qualifier;
+
+import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.annotation.NamedLiteral;
+import org.apache.webbeans.event.EventMetadataImpl;
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ResolvedObserversCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void resolvedObserversAreCachedAndSorted()
+    {
+        startContainer(Listener.class);
+        Listener listener = getInstance(Listener.class);
+
+        getBeanManager().fireEvent(new Message());
+        getBeanManager().fireEvent(new Message());
+        assertEquals(asList("early", "late", "early", "late"), listener.getCalls());
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        EventMetadataImpl metadata = new EventMetadataImpl(null, Message.class, null, new Annotation[0], getWebBeansContext());
+        List<ObserverMethod<? super Object>> first = notificationManager.resolveObserversForFire(new Message(), metadata, false);
+        assertEquals(2, first.size());
+        assertSame(first, notificationManager.resolveObserversForFire(new Message(), metadata, false));
+    }
+
+    @Test
+    public void qualifiersArePartOfTheKey()
+    {
+        startContainer(Listener.class);
+        Listener listener = getInstance(Listener.class);
+
+        getBeanManager().fireEvent(new Message(), UrgentLiteral.INSTANCE);
+        assertEquals(asList("early", "urgent", "late"), listener.getCalls());
+
+        listener.getCalls().clear();
+        getBeanManager().fireEvent(new Message());
+        assertEquals(asList("early", "late"), listener.getCalls());
+    }
+
+    @Test
+    public void qualifiersWithMembersAreNotCached()
+    {
+        startContainer(Listener.class);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        EventMetadataImpl metadata = new EventMetadataImpl(null, Message.class, null,
+                new Annotation[]{ new NamedLiteral("message") }, getWebBeansContext());
+        List<ObserverMethod<? super Object>> first = notificationManager.resolveObserversForFire(new Message(), metadata, false);
+        assertEquals(2, first.size());
+        assertNotSame(first, notificationManager.resolveObserversForFire(new Message(), metadata, false));
+    }
+
+    @Test
+    public void addObserverInvalidatesCache()
+    {
+        startContainer(Listener.class);
+        Listener listener = getInstance(Listener.class);
+
+        getBeanManager().fireEvent(new Message());
+        assertEquals(asList("early", "late"), listener.getCalls());
+
+        listener.getCalls().clear();
+        getWebBeansContext().getNotificationManager().addObserver(new SyntheticObserver(listener.getCalls()));
+        getBeanManager().fireEvent(new Message());
+        assertEquals(asList("early", "late", "synthetic"), listener.getCalls());
+    }
+
+    private static List<String> asList(String... values)
+    {
+        List<String> list = new ArrayList<>();
+        Collections.addAll(list, values);
+        return list;
+    }
+
+    public static class Message
+    {
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.PARAMETER, ElementType.FIELD, ElementType.METHOD, ElementType.TYPE})
+    public @interface Urgent
+    {
+    }
+
+    public static class UrgentLiteral extends AnnotationLiteral<Urgent> implements Urgent
+    {
+        public static final UrgentLiteral INSTANCE = new UrgentLiteral();
+    }
+
+    @ApplicationScoped
+    public static class Listener
+    {
+        private final List<String> calls = new ArrayList<>();
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+
+        public void late(@Observes @Priority(300) Message message)
+        {
+            calls.add("late");
+        }
+
+        public void early(@Observes @Priority(100) Message message)
+        {
+            calls.add("early");
+        }
+
+        public void urgent(@Observes @Priority(200) @Urgent Message message)
+        {
+            calls.add("urgent");
+        }
+    }
+
+    private static class SyntheticObserver implements ObserverMethod<Message>
+    {
+        private final List<String> calls;
+
+        private SyntheticObserver(List<String> calls)
+        {
+            this.calls = calls;
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return ResolvedObserversCacheTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return Message.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.<Annotation>singleton(AnyLiteral.INSTANCE);
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return TransactionPhase.IN_PROGRESS;
+        }
+
+        @Override
+        public int getPriority()
+        {
+            return 400;
+        }
+
+        @Override
+        public void notify(Message event)
+        {
+            calls.add("synthetic");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class CompiledInjectorTest extends AbstractUnitTest
+{
+    @Test
+    public void fieldsAndInitializers()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPILED_INJECTORS, "true");
+        startContainer(Child.class, Service.class, Helper.class);
+
+        Child first = getInstance(Child.class);
+        Child second = getInstance(Child.class);
+
+        assertNotNull(first.parentService);
+        assertNotNull(first.childService);
+        assertSame(first.childService.self(), first.parentService.self());
+        assertNotSame(first.helper, second.helper);
+        assertEquals(Child.class, first.helper.injectionPoint.getBean().getBeanClass());
+
+        // superclass first, then fields before initializer methods
+        assertEquals(asList("parentInit", "childInit", "noArgInit"), first.calls);
+        assertSame(first.childService, first.initService);
+        assertEquals(asList("parentInit", "childInit", "noArgInit"), second.calls);
+    }
+
+    @Dependent
+    public static class Parent
+    {
+        @Inject
+        Service parentService;
+
+        final List<String> calls = new ArrayList<>();
+
+        @Inject
+        void parentInit(Service service)
+        {
+            assertNotNull(parentService);
+            calls.add("parentInit");
+        }
+    }
+
+    @Dependent
+    public static class Child extends Parent
+    {
+        @Inject
+        private Service childService;
+
+        @Inject
+        private Helper helper;
+
+        private Service initService;
+
+        @Inject
+        private void childInit(Service service, Helper otherHelper)
+        {
+            assertNotNull(childService);
+            initService = service;
+            calls.add("childInit");
+        }
+
+        @Inject
+        void noArgInit()
+        {
+            calls.add("noArgInit");
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public Service self()
+        {
+            return this;
+        }
+    }
+
+    @Dependent
+    public static class Helper
+    {
+        @Inject
+        InjectionPoint injectionPoint;
+    }
+}
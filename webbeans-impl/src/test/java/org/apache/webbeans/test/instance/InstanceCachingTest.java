@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class InstanceCachingTest extends AbstractUnitTest
+{
+    @Test
+    public void cachedResolution()
+    {
+        startContainer(Holder.class, RequestBean.class, DependentBean.class);
+        Holder holder = getInstance(Holder.class);
+
+        RequestBean proxy = holder.requestBeans.get();
+        assertSame(proxy, holder.requestBeans.get());
+        int firstId = proxy.getId();
+
+        // the cached proxy still resolves the instance of the current request
+        restartContext(RequestScoped.class);
+        assertNotEquals(firstId, holder.requestBeans.get().getId());
+
+        assertNotSame(holder.dependentBeans.get(), holder.dependentBeans.get());
+        assertFalse(holder.dependentBeans.isUnsatisfied());
+        assertFalse(holder.dependentBeans.isAmbiguous());
+    }
+
+    @Dependent
+    public static class Holder
+    {
+        @Inject
+        Instance<RequestBean> requestBeans;
+
+        @Inject
+        Instance<DependentBean> dependentBeans;
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+    }
+}
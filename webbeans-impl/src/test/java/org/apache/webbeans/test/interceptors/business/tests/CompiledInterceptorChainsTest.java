@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.business.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.intercept.CompiledInterceptorInvocationContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledInterceptorChainsTest extends AbstractUnitTest
+{
+    @Before
+    public void enableCompiledChains()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPILED_INTERCEPTOR_CHAINS, "true");
+        startContainer(Service.class, UpperCaseInterceptor.class, RetryInterceptor.class);
+        RetryInterceptor.contextType = null;
+    }
+
+    @Test
+    public void interceptorsAndParameters()
+    {
+        Service service = getInstance(Service.class);
+        // the interceptor replaces the parameter
+        assertEquals("HELLO OWB", service.hello("world"));
+        assertEquals(CompiledInterceptorInvocationContext.class, RetryInterceptor.contextType);
+    }
+
+    @Test
+    public void primitivesAndVoid()
+    {
+        Service service = getInstance(Service.class);
+        assertEquals(3, service.add(1, 2));
+        service.reset();
+        assertEquals(0, service.getCounter());
+    }
+
+    @Test
+    public void checkedExceptionsAndProceedAgain() throws IOException
+    {
+        Service service = getInstance(Service.class);
+        assertEquals("ok after 2", service.flaky());
+
+        try
+        {
+            service.fail();
+            fail("IOException expected");
+        }
+        catch (IOException e)
+        {
+            assertEquals("expected", e.getMessage());
+        }
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Intercepted
+    {
+    }
+
+    @ApplicationScoped
+    @Intercepted
+    public static class Service
+    {
+        private int counter = 5;
+        private int attempts;
+
+        public String hello(String name)
+        {
+            return "hello " + name;
+        }
+
+        public int add(int a, int b)
+        {
+            return a + b;
+        }
+
+        public void reset()
+        {
+            counter = 0;
+        }
+
+        public int getCounter()
+        {
+            return counter;
+        }
+
+        public String flaky()
+        {
+            if (++attempts < 2)
+            {
+                throw new IllegalStateException("not yet");
+            }
+            return "ok after " + attempts;
+        }
+
+        public void fail() throws IOException
+        {
+            throw new IOException("expected");
+        }
+    }
+
+    @Interceptor
+    @Intercepted
+    @Priority(100)
+    public static class RetryInterceptor
+    {
+        private static Class<?> contextType;
+
+        @AroundInvoke
+        public Object retry(InvocationContext ctx) throws Exception
+        {
+            contextType = ctx.getClass();
+            try
+            {
+                return ctx.proceed();
+            }
+            catch (IllegalStateException e)
+            {
+                return ctx.proceed();
+            }
+        }
+    }
+
+    @Interceptor
+    @Intercepted
+    @Priority(200)
+    public static class UpperCaseInterceptor
+    {
+        @AroundInvoke
+        public Object upperCase(InvocationContext ctx) throws Exception
+        {
+            Object[] parameters = ctx.getParameters();
+            if (parameters.length == 1 && parameters[0] instanceof String)
+            {
+                ctx.setParameters(new Object[]{ "owb" });
+                Object result = ctx.proceed();
+                assertTrue(result instanceof String);
+                return String.class.cast(result).toUpperCase();
+            }
+            return ctx.proceed();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedInstanceProxyTest extends AbstractUnitTest
+{
+    @Before
+    public void enableCachedInstances()
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_CACHED_INSTANCE, "true");
+        startContainer(Counter.class, RequestCounter.class);
+    }
+
+    @Test
+    public void applicationScopedProxyCachesInstance()
+    {
+        Counter counter = getInstance(Counter.class);
+        assertTrue(counter instanceof OwbNormalScopeProxy);
+        assertTrue(counter.getClass().getName().contains("$$OwbCachedNormalScopeProxy"));
+
+        assertEquals(1, counter.increment());
+        assertEquals(2, counter.increment());
+        assertEquals(2, counter.protectedValue());
+    }
+
+    @Test
+    public void otherScopesAreNotCached()
+    {
+        RequestCounter counter = getInstance(RequestCounter.class);
+        assertFalse(counter.getClass().getName().contains("$$OwbCachedNormalScopeProxy"));
+        assertEquals(1, counter.increment());
+    }
+
+    @Test
+    public void invalidatedWithApplicationContext()
+    {
+        Counter counter = getInstance(Counter.class);
+        int firstInstance = counter.identity();
+        counter.increment();
+
+        restartContext(ApplicationScoped.class);
+
+        // the already injected proxy must not keep the destroyed instance
+        assertNotEquals(firstInstance, counter.identity());
+        assertEquals(1, counter.increment());
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private final AtomicInteger value = new AtomicInteger();
+
+        public int increment()
+        {
+            return value.incrementAndGet();
+        }
+
+        public int identity()
+        {
+            return System.identityHashCode(this);
+        }
+
+        protected int protectedValue()
+        {
+            return value.get();
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int value;
+
+        public int increment()
+        {
+            return ++value;
+        }
+    }
+}
@@ -22,7 +22,9 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -36,15 +38,19 @@ import javax.jms.Session;
 import javax.jms.TopicConnection;
 import javax.jms.TopicConnectionFactory;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.jms.JMSModel;
 import org.apache.webbeans.jms.JMSModel.JMSType;
 import org.apache.webbeans.jms.component.JmsBean;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.util.ClassUtil;
 
 
 public class JmsProxyHandler implements InvocationHandler
 {
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(JmsProxyHandler.class);
+
     private JmsBean<?> jmsComponent;
 
     private static volatile ConnectionFactory connectionFactory;
@@ -54,8 +60,17 @@ public class JmsProxyHandler implements InvocationHandler
     private static Map<JMSType, Connection> connections = new ConcurrentHashMap<>();
 
     private static Map<String, Destination> dests = new ConcurrentHashMap<>();
+
+    private static ConcurrentMap<JMSType, JmsSessionPool> sessionPools = new ConcurrentHashMap<>();
     
     private Object jmsObject;
+
+    /**
+     * The pooled Session behind the jmsObject if it is a Session or MessageProducer.
+     */
+    private JmsSessionPool.PooledSession pooledSession;
+
+    private JmsSessionPool sessionPool;
     
     private Class<?> injectionClazz;
 
@@ -166,7 +181,10 @@ public class JmsProxyHandler implements InvocationHandler
 
             connection = createOrReturnQueueOrTopicConnection();
 
-            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            sessionPool = getSessionPool(connection);
+            pooledSession = sessionPool.acquire();
+
+            return pooledSession.getSession();
 
         }
         catch (JMSException e)
@@ -199,10 +217,18 @@ public class JmsProxyHandler implements InvocationHandler
         {
             connection = createOrReturnQueueOrTopicConnection();
 
-            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createProducer(createOrReturnQueueOrTopic());
+            sessionPool = getSessionPool(connection);
+            pooledSession = sessionPool.acquire();
+
+            return pooledSession.getProducer(createOrReturnQueueOrTopic());
         }
         catch (JMSException e)
         {
+            if (pooledSession != null)
+            {
+                sessionPool.release(pooledSession);
+                pooledSession = null;
+            }
             ensureConnectionClosing(connection);
             throw new WebBeansException("Unable to create jms message producer", e);
         }
@@ -226,6 +252,54 @@ public class JmsProxyHandler implements InvocationHandler
 
     }
 
+    private JmsSessionPool getSessionPool(Connection connection)
+    {
+        JMSType jmsType = jmsComponent.getJmsModel().getJmsType();
+        JmsSessionPool pool = sessionPools.get(jmsType);
+        if (pool == null)
+        {
+            OpenWebBeansConfiguration configuration = jmsComponent.getWebBeansContext().getOpenWebBeansConfiguration();
+            int maxSize = (int) getConfiguredValue(configuration, JmsSessionPool.SESSION_POOL_SIZE, 10, Integer.MAX_VALUE);
+            long idleTimeout = getConfiguredValue(configuration, JmsSessionPool.SESSION_IDLE_TIMEOUT, 60000, Long.MAX_VALUE);
+
+            pool = new JmsSessionPool(connection, maxSize, idleTimeout);
+            JmsSessionPool existing = sessionPools.putIfAbsent(jmsType, pool);
+            if (existing != null)
+            {
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * @return the configured value or the defaultValue if it is no number between 0 and maxValue
+     */
+    private static long getConfiguredValue(OpenWebBeansConfiguration configuration, String key, long defaultValue, long maxValue)
+    {
+        String value = configuration.getProperty(key);
+        if (value == null || value.trim().isEmpty())
+        {
+            return defaultValue;
+        }
+
+        try
+        {
+            long configured = Long.parseLong(value.trim());
+            if (configured >= 0 && configured <= maxValue)
+            {
+                return configured;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            // logged below
+        }
+
+        logger.warning("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+        return defaultValue;
+    }
+
     private Connection createOrReturnQueueOrTopicConnection()
     {
         JMSModel jmsModel = this.jmsComponent.getJmsModel();
@@ -275,6 +349,15 @@ public class JmsProxyHandler implements InvocationHandler
     
     private void close()
     {
+        if (pooledSession != null)
+        {
+            // the Session and its producers stay open for the next user
+            sessionPool.release(pooledSession);
+            pooledSession = null;
+            jmsObject = null;
+            return;
+        }
+
         try
         {
             if(this.jmsObject != null)
@@ -321,6 +404,12 @@ public class JmsProxyHandler implements InvocationHandler
         {
             connectionFactory = null;
 
+            for (JmsSessionPool pool : sessionPools.values())
+            {
+                pool.close();
+            }
+            sessionPools.clear();
+
             for (Connection connection : connections.values())
             {
                 connection.close();
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jms.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Pools the non transacted, auto acknowledged Sessions of a Connection together with
+ * the MessageProducers created for them.
+ *
+ * <p>A thread gets the Session it released last if that one is idle, so the Sessions
+ * mostly stay on the same thread. The threads only reference it weakly, the reference
+ * gets cleared once the Session gets closed, so a closed pool doesn't stay reachable from them.
+ * At most {@code maxSize} Sessions get pooled, if all of them are in use further Sessions
+ * get created and closed on release.
+ * Sessions which were idle for longer than the idle timeout get closed
+ * when a Session gets released.</p>
+ */
+public class JmsSessionPool
+{
+    /**
+     * The maximum number of pooled Sessions per Connection, 0 disables the pooling.
+     */
+    public static final String SESSION_POOL_SIZE = "org.apache.webbeans.jms.sessionPoolSize";
+
+    /**
+     * The time in ms after which an idle pooled Session gets closed.
+     */
+    public static final String SESSION_IDLE_TIMEOUT = "org.apache.webbeans.jms.sessionIdleTimeout";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(JmsSessionPool.class);
+
+    private final Connection connection;
+
+    private final int maxSize;
+
+    private final long idleTimeoutMillis;
+
+    private final Queue<PooledSession> sessions = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final ThreadLocal<WeakReference<PooledSession>> lastUsed = new ThreadLocal<>();
+
+    private volatile long nextEviction;
+
+    private volatile boolean closed;
+
+    /**
+     * @param maxSize the maximum number of pooled Sessions, 0 disables the pooling
+     * @param idleTimeoutMillis the time after which an idle Session gets closed, 0 keeps them open
+     */
+    public JmsSessionPool(Connection connection, int maxSize, long idleTimeoutMillis)
+    {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        nextEviction = System.currentTimeMillis() + idleTimeoutMillis;
+    }
+
+    /**
+     * @return an exclusive Session which must be given back via {@link #release(PooledSession)}
+     */
+    public PooledSession acquire() throws JMSException
+    {
+        WeakReference<PooledSession> reference = lastUsed.get();
+        PooledSession session = reference != null ? reference.get() : null;
+        if (session != null && session.tryAcquire())
+        {
+            return session;
+        }
+
+        for (PooledSession pooled : sessions)
+        {
+            if (pooled.tryAcquire())
+            {
+                lastUsed.set(pooled.reference);
+                return pooled;
+            }
+        }
+
+        if (!closed && size.incrementAndGet() <= maxSize)
+        {
+            session = new PooledSession(connection.createSession(false, Session.AUTO_ACKNOWLEDGE), true);
+            sessions.add(session);
+            lastUsed.set(session.reference);
+            return session;
+        }
+        size.decrementAndGet();
+
+        return new PooledSession(connection.createSession(false, Session.AUTO_ACKNOWLEDGE), false);
+    }
+
+    public void release(PooledSession session)
+    {
+        if (!session.pooled || closed)
+        {
+            session.close();
+            return;
+        }
+
+        session.lastUsed = System.currentTimeMillis();
+        session.inUse.set(false);
+
+        if (idleTimeoutMillis > 0 && session.lastUsed >= nextEviction)
+        {
+            nextEviction = session.lastUsed + idleTimeoutMillis;
+            evictIdleSessions(session.lastUsed);
+        }
+    }
+
+    /**
+     * Closes all Sessions which were idle for longer than the idle timeout.
+     */
+    public void evictIdleSessions(long now)
+    {
+        Iterator<PooledSession> it = sessions.iterator();
+        while (it.hasNext())
+        {
+            PooledSession session = it.next();
+            if (now - session.lastUsed > idleTimeoutMillis && session.tryAcquire())
+            {
+                it.remove();
+                size.decrementAndGet();
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * @return the number of pooled Sessions
+     */
+    public int size()
+    {
+        return size.get();
+    }
+
+    /**
+     * Closes all idle Sessions, the ones in use get closed on release.
+     */
+    public void close()
+    {
+        closed = true;
+        Iterator<PooledSession> it = sessions.iterator();
+        while (it.hasNext())
+        {
+            PooledSession session = it.next();
+            if (session.tryAcquire())
+            {
+                it.remove();
+                size.decrementAndGet();
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * A Session of the pool with its MessageProducers per Destination.
+     */
+    public static final class PooledSession
+    {
+        private final Session session;
+
+        private final boolean pooled;
+
+        private final Map<Destination, MessageProducer> producers = new ConcurrentHashMap<>();
+
+        private final AtomicBoolean inUse;
+
+        /**
+         * The reference the threads keep to get this Session again, cleared on close.
+         */
+        private final WeakReference<PooledSession> reference = new WeakReference<>(this);
+
+        private volatile long lastUsed;
+
+        private PooledSession(Session session, boolean pooled)
+        {
+            this.session = session;
+            this.pooled = pooled;
+            inUse = new AtomicBoolean(true);
+        }
+
+        public Session getSession()
+        {
+            return session;
+        }
+
+        /**
+         * @return the cached MessageProducer for the given Destination
+         */
+        public MessageProducer getProducer(Destination destination) throws JMSException
+        {
+            MessageProducer producer = producers.get(destination);
+            if (producer == null)
+            {
+                producer = session.createProducer(destination);
+                producers.put(destination, producer);
+            }
+            return producer;
+        }
+
+        private boolean tryAcquire()
+        {
+            return inUse.compareAndSet(false, true);
+        }
+
+        private void close()
+        {
+            reference.clear();
+            try
+            {
+                // also closes the producers
+                session.close();
+            }
+            catch (JMSException e)
+            {
+                logger.log(Level.FINE, "Could not close the JMS session", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jms.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.junit.Test;
+
+public class JmsSessionPoolTest
+{
+    private final AtomicInteger createdSessions = new AtomicInteger();
+    private final AtomicInteger closedSessions = new AtomicInteger();
+    private final AtomicInteger createdProducers = new AtomicInteger();
+
+    @Test
+    public void reuseSessionsAndProducers() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(connection(), 2, 0);
+        Destination queue = proxy(Queue.class);
+
+        JmsSessionPool.PooledSession session = pool.acquire();
+        MessageProducer producer = session.getProducer(queue);
+        assertSame(producer, session.getProducer(queue));
+        pool.release(session);
+
+        JmsSessionPool.PooledSession again = pool.acquire();
+        assertSame(session, again);
+        assertSame(producer, again.getProducer(queue));
+        pool.release(again);
+
+        assertEquals(1, createdSessions.get());
+        assertEquals(1, createdProducers.get());
+        assertEquals(0, closedSessions.get());
+    }
+
+    @Test
+    public void bounded() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(connection(), 2, 0);
+
+        JmsSessionPool.PooledSession first = pool.acquire();
+        JmsSessionPool.PooledSession second = pool.acquire();
+        JmsSessionPool.PooledSession third = pool.acquire();
+        assertNotSame(first, second);
+        assertEquals(2, pool.size());
+        assertEquals(3, createdSessions.get());
+
+        pool.release(third);
+        assertEquals(1, closedSessions.get());
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, closedSessions.get());
+
+        pool.close();
+        assertEquals(0, pool.size());
+        assertEquals(3, closedSessions.get());
+    }
+
+    @Test
+    public void threadAffinity() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(connection(), 2, 0);
+
+        JmsSessionPool.PooledSession[] otherThreadSession = new JmsSessionPool.PooledSession[1];
+        JmsSessionPool.PooledSession mine = pool.acquire();
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                otherThreadSession[0] = pool.acquire();
+                pool.release(otherThreadSession[0]);
+            }
+            catch (Exception e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        pool.release(mine);
+
+        assertSame(mine, pool.acquire());
+        assertNotSame(mine, otherThreadSession[0]);
+    }
+
+    @Test
+    public void closeClearsThreadAffinity() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(connection(), 2, 0);
+
+        JmsSessionPool.PooledSession session = pool.acquire();
+        pool.release(session);
+        pool.close();
+
+        // the closed Session isn't reachable from the thread anymore
+        JmsSessionPool.PooledSession unpooled = pool.acquire();
+        assertNotSame(session, unpooled);
+        pool.release(unpooled);
+        assertEquals(2, closedSessions.get());
+    }
+
+    @Test
+    public void evictIdleSessions() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(connection(), 2, 1000);
+
+        JmsSessionPool.PooledSession session = pool.acquire();
+        pool.release(session);
+        pool.evictIdleSessions(System.currentTimeMillis());
+        assertEquals(1, pool.size());
+
+        pool.evictIdleSessions(System.currentTimeMillis() + 5000);
+        assertEquals(0, pool.size());
+        assertEquals(1, closedSessions.get());
+        assertNotSame(session, pool.acquire());
+    }
+
+    private Connection connection()
+    {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ Connection.class },
+            (proxy, method, args) ->
+            {
+                if ("createSession".equals(method.getName()))
+                {
+                    createdSessions.incrementAndGet();
+                    return session();
+                }
+                return null;
+            });
+    }
+
+    private Session session()
+    {
+        return (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ Session.class },
+            (proxy, method, args) ->
+            {
+                if ("createProducer".equals(method.getName()))
+                {
+                    createdProducers.incrementAndGet();
+                    return proxy(MessageProducer.class);
+                }
+                if ("close".equals(method.getName()))
+                {
+                    closedSessions.incrementAndGet();
+                }
+                return null;
+            });
+    }
+
+    private static <T> T proxy(Class<T> type)
+    {
+        return type.cast(Proxy.newProxyInstance(JmsSessionPoolTest.class.getClassLoader(), new Class<?>[]{ type },
+            (proxy, method, args) ->
+            {
+                if ("hashCode".equals(method.getName()))
+                {
+                    return System.identityHashCode(proxy);
+                }
+                if ("equals".equals(method.getName()))
+                {
+                    return proxy == args[0];
+                }
+                return null;
+            }));
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.webbeans.spi;
 
 import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ContextException;
 import javax.enterprise.context.spi.Context;
@@ -76,6 +77,20 @@ public interface ContextsService
      */
     Context getCurrentContext(Class<? extends Annotation> scopeType, boolean createIfNotExists);
 
+    /**
+     * Gets an accessor which returns the same as {@link #getCurrentContext(Class)} on each invocation.
+     * <p>
+     * The container fetches the accessor once per scope, so implementations can bind it
+     * to the storage of the given scope and skip the dispatch on the scope type.
+     * </p>
+     * @param scopeType context scope type
+     * @return the accessor of the current context, never {@code null}
+     */
+    default Supplier<Context> getCurrentContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        return () -> getCurrentContext(scopeType);
+    }
+
     /**
      * Starts the context with the given scope type. If 
      * given scope type is not supported, there is no action.
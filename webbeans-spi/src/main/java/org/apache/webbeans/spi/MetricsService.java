@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import javax.enterprise.inject.spi.Bean;
+
+/**
+ * Receives the runtime metrics of the container hot paths.
+ *
+ * The container only invokes the recording methods if {@link #isEnabled()} returns {@code true},
+ * so the default no-op implementation costs nothing once the JIT inlined {@link #isEnabled()}.
+ * All methods might get invoked concurrently and must not block.
+ */
+public interface MetricsService
+{
+    /**
+     * @return {@code false} if no metrics should get recorded at all
+     */
+    boolean isEnabled();
+
+    /**
+     * A contextual instance of the given bean got created.
+     * @param nanos the time spent in {@link Bean#create(javax.enterprise.context.spi.CreationalContext)}
+     */
+    void beanInstanceCreated(Bean<?> bean, long nanos);
+
+    /**
+     * A normal scoped proxy had no cached instance and needed to resolve it via the Context.
+     */
+    void proxyResolutionMiss(Bean<?> bean);
+
+    /**
+     * The Context of the given scope got looked up via the BeanManager.
+     */
+    void contextLookup(Class<? extends Annotation> scope);
+
+    /**
+     * An event of the given type got fired.
+     */
+    void eventFired(Class<?> eventType);
+
+    /**
+     * An observer method for the given event type got notified.
+     * @param nanos the time spent in the observer method
+     */
+    void observerNotified(Class<?> eventType, long nanos);
+
+    /**
+     * The interceptor chain of the given business method got invoked.
+     * @param nanos the time spent in the interceptors and the intercepted method
+     */
+    void interceptorChainInvoked(Method method, long nanos);
+
+    void conversationStarted();
+
+    void conversationEnded();
+
+    void sessionStarted();
+
+    void sessionEnded();
+}
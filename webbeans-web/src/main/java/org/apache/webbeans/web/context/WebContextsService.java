@@ -29,6 +29,7 @@ import org.apache.webbeans.context.ApplicationContext;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.context.RequestContextPool;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.SingletonContext;
 import org.apache.webbeans.conversation.ConversationManager;
@@ -36,6 +37,8 @@ import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.util.WebBeansUtil;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -44,13 +47,18 @@ import javax.enterprise.context.Dependent;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
 import javax.inject.Singleton;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -67,6 +75,9 @@ public class WebContextsService extends AbstractContextsService
 
     private static final String OWB_SESSION_CONTEXT_ATTRIBUTE_NAME = "openWebBeansSessionContext";
 
+    /**Prefix of the attributes which store the session scoped instances if the dirty tracking is enabled*/
+    private static final String OWB_SESSION_INSTANCE_ATTRIBUTE_PREFIX = OWB_SESSION_CONTEXT_ATTRIBUTE_NAME + ":";
+
     /**
      * TODO implement later: optional immediate destroy
      */
@@ -97,6 +108,16 @@ public class WebContextsService extends AbstractContextsService
     protected Boolean eagerSessionInitialisation;
     protected Pattern eagerSessionPattern;
 
+    /**Destroyed request contexts for re-use, {@code null} if the pooling is disabled*/
+    protected RequestContextPool<ServletRequestContext> requestContextPool;
+
+    /**Whether the session scoped instances get serialized once the last request of the session ended*/
+    protected final boolean compactSessionStorage;
+
+    /**Whether the session scoped instances get stored in their own session attributes*/
+    protected final boolean sessionDirtyTracking;
+
+    protected final MetricsService metrics;
 
     /**
      * Creates a new instance.
@@ -118,6 +139,16 @@ public class WebContextsService extends AbstractContextsService
         dependentContext.setActive(true);
 
         configureEagerSessionInitialisation(webBeansContext);
+
+        int requestContextPoolSize = webBeansContext.getOpenWebBeansConfiguration().getRequestContextPoolSize();
+        if (requestContextPoolSize > 0)
+        {
+            requestContextPool = new RequestContextPool<>(requestContextPoolSize);
+        }
+
+        compactSessionStorage = webBeansContext.getOpenWebBeansConfiguration().isCompactSessionStorage();
+        sessionDirtyTracking = webBeansContext.getOpenWebBeansConfiguration().isSessionDirtyTracking();
+        metrics = webBeansContext.getMetricsService();
     }
 
     protected void configureEagerSessionInitialisation(WebBeansContext webBeansContext)
@@ -299,6 +330,36 @@ public class WebContextsService extends AbstractContextsService
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Supplier<Context> getCurrentContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if(scopeType.equals(RequestScoped.class))
+        {
+            return () -> getRequestContext(true);
+        }
+        else if(scopeType.equals(SessionScoped.class))
+        {
+            return () -> getSessionContext(true);
+        }
+        else if(scopeType.equals(ApplicationScoped.class))
+        {
+            return () -> applicationContext;
+        }
+        else if(scopeType.equals(Dependent.class))
+        {
+            return () -> dependentContext;
+        }
+        else if (scopeType.equals(Singleton.class))
+        {
+            return () -> singletonContext;
+        }
+
+        return super.getCurrentContextAccessor(scopeType);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -345,7 +406,11 @@ public class WebContextsService extends AbstractContextsService
     protected void initRequestContext(Object startupObject )
     {
         
-        ServletRequestContext requestContext = new ServletRequestContext();
+        ServletRequestContext requestContext = requestContextPool != null ? requestContextPool.acquire() : null;
+        if (requestContext == null)
+        {
+            requestContext = new ServletRequestContext();
+        }
         requestContext.setActive(true);
 
         requestContexts.set(requestContext);// set thread local
@@ -424,6 +489,10 @@ public class WebContextsService extends AbstractContextsService
                 payload != null ? payload : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
 
             sessionContext.destroy();
+            if (metrics.isEnabled())
+            {
+                metrics.sessionEnded();
+            }
 
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
@@ -443,6 +512,12 @@ public class WebContextsService extends AbstractContextsService
 
         }
 
+        // destroying the request context drops the ServletRequest
+        HttpSession session = null;
+        if (sessionDirtyTracking && context.getServletRequest() != null)
+        {
+            session = context.getServletRequest().getSession(false);
+        }
 
         context.destroy();
 
@@ -460,12 +535,28 @@ public class WebContextsService extends AbstractContextsService
         }
 
         // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.clearThreadLocals();
+        SessionScopedBeanInterceptorHandler.clearThreadLocals();
+
+        SessionContext attachedSessionContext = sessionContexts.get();
+        if (attachedSessionContext != null && session != null)
+        {
+            storeDirtySessionInstances(session, attachedSessionContext);
+        }
+        if (attachedSessionContext != null && compactSessionStorage)
+        {
+            sessionContexts.remove();
+            attachedSessionContext.endRequest(true);
+        }
 
         //Clear thread locals
         requestContexts.set(null);
         requestContexts.remove();
+
+        if (requestContextPool != null)
+        {
+            requestContextPool.release(context);
+        }
     }
 
 
@@ -494,11 +585,16 @@ public class WebContextsService extends AbstractContextsService
                     {
                         currentSessionContext = new SessionContext();
                         currentSessionContext.setActive(true);
+                        if (metrics.isEnabled())
+                        {
+                            metrics.sessionStarted();
+                        }
+                        enableDirtyTracking(session, currentSessionContext);
                         
                         // init context before fire @Initialized(SessionScoped)
                         // so that SessionScoped beans are already available inside the observer
                         session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
-                        sessionContexts.set(currentSessionContext);
+                        attachSessionContext(currentSessionContext);
                         
                         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                             session, InitializedLiteral.INSTANCE_SESSION_SCOPED);
@@ -507,15 +603,113 @@ public class WebContextsService extends AbstractContextsService
             }
             else
             {
-                // we do that in any case.
-                // This is needed to trigger delta-replication on most servers
-                session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                if (sessionDirtyTracking)
+                {
+                    // the instances get written back separately at the end of the request
+                    enableDirtyTracking(session, currentSessionContext);
+                }
+                else
+                {
+                    // we do that in any case.
+                    // This is needed to trigger delta-replication on most servers
+                    session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                }
                 currentSessionContext.setActive(true);
 
                 //Set thread local
-                sessionContexts.set(currentSessionContext);
+                attachSessionContext(currentSessionContext);
+            }
+        }
+    }
+
+    /**
+     * Picks up the session scoped instances which got stored in their own session attributes,
+     * e.g. by another cluster node, and starts tracking the used instances.
+     */
+    private void enableDirtyTracking(HttpSession session, SessionContext sessionContext)
+    {
+        if (!sessionDirtyTracking || sessionContext.isDirtyTracking())
+        {
+            return;
+        }
+
+        synchronized (session)
+        {
+            if (sessionContext.isDirtyTracking())
+            {
+                return;
+            }
+
+            Enumeration<String> attributeNames = session.getAttributeNames();
+            while (attributeNames.hasMoreElements())
+            {
+                String attributeName = attributeNames.nextElement();
+                if (attributeName.startsWith(OWB_SESSION_INSTANCE_ATTRIBUTE_PREFIX))
+                {
+                    Object serialized = session.getAttribute(attributeName);
+                    if (serialized instanceof byte[])
+                    {
+                        sessionContext.addSerializedInstance(
+                            attributeName.substring(OWB_SESSION_INSTANCE_ATTRIBUTE_PREFIX.length()), (byte[]) serialized);
+                    }
+                }
+            }
+            sessionContext.enableDirtyTracking();
+        }
+    }
+
+    /**
+     * Writes the session scoped instances which got used in this request back to their session attributes
+     * if their serialized state changed.
+     */
+    private void storeDirtySessionInstances(HttpSession session, SessionContext sessionContext)
+    {
+        Set<Contextual<?>> dirtyInstances = sessionContext.drainDirtyInstances();
+        if (dirtyInstances.isEmpty() || !sessionContext.isActive())
+        {
+            return;
+        }
+
+        try
+        {
+            for (Contextual<?> contextual : dirtyInstances)
+            {
+                byte[] serialized = sessionContext.detachInstance(contextual);
+                String id = WebBeansUtil.getPassivationId(contextual);
+                if (id == null)
+                {
+                    continue;
+                }
+
+                String attributeName = OWB_SESSION_INSTANCE_ATTRIBUTE_PREFIX + id;
+                if (serialized == null)
+                {
+                    // destroyed or not serializable, the latter keeps getting written with the SessionContext
+                    session.removeAttribute(attributeName);
+                }
+                else if (!Arrays.equals(serialized, (byte[]) session.getAttribute(attributeName)))
+                {
+                    session.setAttribute(attributeName, serialized);
+                }
             }
         }
+        catch (IllegalStateException e)
+        {
+            // the session got invalidated in the meantime
+            logger.log(Level.FINE, "Cannot store the session scoped instances", e);
+        }
+    }
+
+    /**
+     * Binds the SessionContext to the current request thread.
+     */
+    private void attachSessionContext(SessionContext sessionContext)
+    {
+        if (compactSessionStorage && sessionContexts.get() != sessionContext)
+        {
+            sessionContext.startRequest();
+        }
+        sessionContexts.set(sessionContext);
     }
 
     /**
@@ -563,6 +757,10 @@ public class WebContextsService extends AbstractContextsService
                     session != null ? session : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
 
                 context.destroy();
+                if (metrics.isEnabled())
+                {
+                    metrics.sessionEnded();
+                }
 
                 webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                     session != null ? session : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
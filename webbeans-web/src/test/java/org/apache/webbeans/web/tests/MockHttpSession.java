@@ -18,6 +18,7 @@
 */
 package org.apache.webbeans.web.tests;
 
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import javax.servlet.ServletContext;
@@ -85,7 +86,7 @@ public class MockHttpSession implements HttpSession
     @Override
     public Enumeration<String> getAttributeNames()
     {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        return Collections.enumeration(attributes.keySet());
     }
 
     @Override
@@ -109,7 +110,7 @@ public class MockHttpSession implements HttpSession
     @Override
     public void removeAttribute(String string)
     {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        attributes.remove(string);
     }
 
     @Override
@@ -45,6 +45,7 @@ import java.util.Map;
  */
 public class MockServletRequest implements HttpServletRequest
 {
+    private HttpSession session;
 
     @Override
     public boolean authenticate(HttpServletResponse response) throws IOException, ServletException
@@ -169,13 +170,18 @@ public class MockServletRequest implements HttpServletRequest
     @Override
     public HttpSession getSession()
     {
-        return null;
+        return session;
     }
 
     @Override
     public HttpSession getSession(boolean create)
     {
-        return null;
+        return session;
+    }
+
+    public void setSession(HttpSession session)
+    {
+        this.session = session;
     }
 
     @Override
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.servlet.ServletRequestEvent;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.util.WebBeansUtil;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.apache.webbeans.web.lifecycle.test.MockServletContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SessionDirtyTrackingTest extends AbstractUnitTest
+{
+    private static final String CONTEXT_ATTRIBUTE = "openWebBeansSessionContext";
+
+    @Test
+    public void onlyChangedInstancesGetWrittenBack() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.SESSION_DIRTY_TRACKING, "true");
+        startContainer(Cart.class);
+
+        MockHttpSession session = new MockHttpSession();
+        String attributeName = CONTEXT_ATTRIBUTE + ":" + WebBeansUtil.getPassivationId(getBean(Cart.class));
+
+        inRequest(session, () -> getInstance(Cart.class).setItems(2));
+        Object stored = session.getAttribute(attributeName);
+        Assert.assertTrue(stored instanceof byte[]);
+
+        // not used at all
+        inRequest(session, () -> { });
+        Assert.assertSame(stored, session.getAttribute(attributeName));
+
+        // used but not changed
+        inRequest(session, () -> Assert.assertEquals(2, getInstance(Cart.class).getItems()));
+        Assert.assertSame(stored, session.getAttribute(attributeName));
+
+        inRequest(session, () -> getInstance(Cart.class).setItems(5));
+        Assert.assertNotSame(stored, session.getAttribute(attributeName));
+
+        // the instances are not part of the SessionContext anymore, another node picks them up from the attributes
+        MockHttpSession replicated = new MockHttpSession();
+        for (String name : Collections.list(session.getAttributeNames()))
+        {
+            replicated.setAttribute(name, copy(session.getAttribute(name)));
+        }
+        inRequest(replicated, () -> Assert.assertEquals(5, getInstance(Cart.class).getItems()));
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void notSerializableInstancesStayInTheSessionContext() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.SESSION_DIRTY_TRACKING, "true");
+        startContainer(Cart.class, Holder.class);
+
+        MockHttpSession session = new MockHttpSession();
+        inRequest(session, () ->
+        {
+            getInstance(Cart.class).setItems(1);
+            getInstance(Holder.class).hold(new Object());
+        });
+
+        Assert.assertTrue(session.getAttribute(
+            CONTEXT_ATTRIBUTE + ":" + WebBeansUtil.getPassivationId(getBean(Cart.class))) instanceof byte[]);
+        Assert.assertNull(session.getAttribute(
+            CONTEXT_ATTRIBUTE + ":" + WebBeansUtil.getPassivationId(getBean(Holder.class))));
+
+        // written with the SessionContext, so the failure doesn't go unnoticed
+        try
+        {
+            copy(session.getAttribute(CONTEXT_ATTRIBUTE));
+            Assert.fail("the Holder cannot be serialized");
+        }
+        catch (NotSerializableException e)
+        {
+            // expected
+        }
+
+        shutDownContainer();
+    }
+
+    private void inRequest(MockHttpSession session, Runnable work)
+    {
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        MockServletRequest request = new MockServletRequest();
+        request.setSession(session);
+        ServletRequestEvent event = new ServletRequestEvent(new MockServletContext(), request);
+
+        contextsService.startContext(RequestScoped.class, event);
+        contextsService.startContext(SessionScoped.class, session);
+        work.run();
+        contextsService.endContext(RequestScoped.class, event);
+        ((WebContextsService) contextsService).removeThreadLocals();
+    }
+
+    private static Object copy(Object value) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            return in.readObject();
+        }
+    }
+
+    @SessionScoped
+    public static class Cart implements Serializable
+    {
+        private int items;
+
+        public int getItems()
+        {
+            return items;
+        }
+
+        public void setItems(int items)
+        {
+            this.items = items;
+        }
+    }
+
+    @SessionScoped
+    public static class Holder implements Serializable
+    {
+        private Object value;
+
+        public void hold(Object value)
+        {
+            this.value = value;
+        }
+    }
+}